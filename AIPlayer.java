@@ -1,42 +1,200 @@
 package connectfour;
 
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class AIPlayer extends Player {
-    private Random random;
-    
+    public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+    public static final long DEFAULT_TIME_LIMIT_MS = 1000;
+
+    private SearchEngine engine;
+    private int searchDepth;
+    private long timeLimitMillis;
+    private long nodeLimit;
+    private OpeningBook openingBook;
+    private boolean pondering;
+    private int winLength = GameLogic.DEFAULT_WIN_LENGTH;
+    private Thread ponderThread;
+    // Each getNextMove() call gets a number, so a cancel() only ever affects the call it found running
+    private final AtomicLong moveCalls = new AtomicLong();
+    private volatile long runningMove; // Number of the call inside getNextMove(), 0 if none
+    private volatile long cancelledMove; // Number of the call cancel() last stopped
+    private volatile Thread moveThread; // Thread of runningMove
+
+    // Default opponent: searches as deep as it can in about one second
     public AIPlayer(String name, char symbol) {
+        this(name, symbol, UNLIMITED_DEPTH);
+        this.timeLimitMillis = DEFAULT_TIME_LIMIT_MS;
+    }
+
+    public AIPlayer(String name, char symbol, int searchDepth) {
+        this(name, symbol, searchDepth, SearchEngine.DEFAULT_TABLE_MB);
+    }
+
+    public AIPlayer(String name, char symbol, int searchDepth, int tableMegabytes) {
         super(name, symbol);
-        this.random = new Random();
+        this.engine = new SearchEngine(tableMegabytes);
+        this.searchDepth = searchDepth;
+        this.openingBook = OpeningBook.getDefault();
     }
-    
+
     @Override
     public int getNextMove(Board board) {
-        System.out.println(name + " (" + symbol + ") is thinking...");
-        
+        long call = moveCalls.incrementAndGet();
+        moveThread = Thread.currentThread();
+        runningMove = call; // Published after moveThread; cancel() reads them in the other order
         try {
-            Thread.sleep(1000); 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return chooseMove(board, call);
+        } finally {
+            runningMove = 0;
+            moveThread = null;
         }
-        
-        // Simple strategy: Pick a random, available column
-        for (int i = 0; i < 10; i++) {
-            int col = random.nextInt(board.getCols());
-            if (board.getCell(0, col) == ' ') { 
-                System.out.println(name + " chooses column " + col);
-                return col;
-            }
+    }
+
+    private int chooseMove(Board board, long call) {
+        stopPondering(); // The table keeps whatever the ponder search found
+        System.out.println(name + " (" + symbol + ") is thinking...");
+
+        if (!canSearch(board)) {
+            int col = simpleMove(board);
+            System.out.println(name + " chooses column " + col + " (no search for this board or line length)");
+            return col;
+        }
+
+        int bookMove = openingBook != null ? openingBook.lookup(board, symbol) : -1;
+        if (bookMove != -1 && board.canPlay(bookMove)) {
+            System.out.println(name + " chooses column " + bookMove + " (opening book)");
+            return bookMove;
         }
-        
-        // Fallback: find the first available column
+
+        // Cancelled before the search began: any legal move will do
+        int depth = cancelledMove == call ? 1 : searchDepth;
+        int col = engine.findBestMove(board, symbol, depth, timeLimitMillis, nodeLimit);
+        if (col != -1) {
+            System.out.println(name + " chooses column " + col
+                + " (depth " + engine.getCompletedDepth() + ", " + engine.getNodes() + " nodes, "
+                + engine.getNodesPerSecond() + " nodes/s)");
+        }
+        return col;
+    }
+
+    // The engine, solver and book only play four in a row on a bitboard
+    private boolean canSearch(Board board) {
+        return board.hasBitboard() && winLength == GameLogic.DEFAULT_WIN_LENGTH;
+    }
+
+    /**
+     * Move choice when the search engine cannot be used: win if possible,
+     * otherwise block the opponent's immediate win, otherwise play the
+     * playable column nearest the centre.
+     */
+    private int simpleMove(Board board) {
+        char opponent = symbol == 'X' ? 'O' : 'X';
+        Board scratch = board.copy(); // Each trial move is taken back again
+        GameLogic logic = new GameLogic(scratch, winLength);
+        int centre = board.getCols() / 2;
+        int block = -1;
+        int best = -1;
         for (int col = 0; col < board.getCols(); col++) {
-            if (board.getCell(0, col) == ' ') {
-                System.out.println(name + " chooses column " + col);
-                return col;
+            if (!board.canPlay(col)) continue;
+            if (winsWith(scratch, logic, col, symbol)) return col;
+            if (block == -1 && winsWith(scratch, logic, col, opponent)) block = col;
+            if (best == -1 || Math.abs(col - centre) < Math.abs(best - centre)) best = col;
+        }
+        return block != -1 ? block : best;
+    }
+
+    private boolean winsWith(Board board, GameLogic logic, int col, char symbol) {
+        board.dropPiece(col, symbol);
+        boolean wins = logic.checkWinAt(board.getLastRow(), col);
+        board.undo();
+        return wins;
+    }
+
+    /**
+     * Stops a getNextMove() running on another thread as soon as possible and
+     * waits until it has returned; one that has not reached the engine yet
+     * returns a depth-1 move. Calls that start later are not affected. To
+     * stop a call that has not started yet, interrupt the thread that will
+     * make it (e.g. Future.cancel(true)): an interrupt stops the engine too.
+     */
+    public void cancel() {
+        long call = runningMove;
+        Thread thread = moveThread;
+        cancelledMove = call;
+        stopPondering();
+        boolean interrupted = false;
+        while (call != 0 && runningMove == call && thread != null && thread != Thread.currentThread()) {
+            engine.stop();
+            try {
+                thread.join(1);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // --- Pondering ---
+    /**
+     * Searches the position the opponent has to move in on a background
+     * thread until stopPondering() or the next getNextMove(). Every reply the
+     * opponent might play is a child of that position, so whichever one comes
+     * the transposition table already holds work for it. Does nothing if
+     * pondering is off, the engine cannot play this game or it is over.
+     */
+    public synchronized void startPondering(Board board) {
+        stopPondering();
+        if (!pondering || !canSearch(board) || board.isFull()
+                || new GameLogic(board).checkLastMoveWin()) return;
+
+        Position position = board.snapshot(); // The caller's board changes when the opponent moves
+        char opponent = symbol == 'X' ? 'O' : 'X';
+        ponderThread = new Thread(() ->
+            engine.findBestMove(position, opponent, UNLIMITED_DEPTH, 0, 0), "ponder");
+        ponderThread.setDaemon(true);
+        ponderThread.start();
+    }
+
+    public synchronized void stopPondering() {
+        if (ponderThread == null) return;
+        // Keep asking: a stop that lands before the search has started is forgotten
+        boolean interrupted = false;
+        while (ponderThread.isAlive()) {
+            engine.stop();
+            try {
+                ponderThread.join(10);
+            } catch (InterruptedException e) {
+                interrupted = true; // Still wait: the ponder search holds the engine
             }
         }
-        
-        return -1; 
+        ponderThread = null;
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    public boolean isPondering() { return pondering; }
+
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) stopPondering();
     }
-}
\ No newline at end of file
+
+    // --- Search limits (a limit of 0 means unlimited) ---
+    public int getSearchDepth() { return searchDepth; }
+    public void setSearchDepth(int searchDepth) { this.searchDepth = searchDepth; }
+    public long getTimeLimitMillis() { return timeLimitMillis; }
+    public void setTimeLimitMillis(long timeLimitMillis) { this.timeLimitMillis = timeLimitMillis; }
+    public long getNodeLimit() { return nodeLimit; }
+    public void setNodeLimit(long nodeLimit) { this.nodeLimit = nodeLimit; }
+    public int getThreads() { return engine.getThreads(); }
+    public void setThreads(int threads) { engine.setThreads(threads); }
+
+    // Pass null to always search
+    public void setOpeningBook(OpeningBook openingBook) { this.openingBook = openingBook; }
+    public OpeningBook getOpeningBook() { return openingBook; }
+
+    // Line length needed to win (Connect-K); the engine is only used for 4
+    public int getWinLength() { return winLength; }
+    public void setWinLength(int winLength) { this.winLength = winLength; }
+
+    public SearchEngine getEngine() { return engine; }
+}
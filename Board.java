@@ -1,59 +1,235 @@
 package connectfour;
 
 public class Board {
-    private char[][] grid;
+    public static final int DEFAULT_ROWS = 6;
+    public static final int DEFAULT_COLS = 7;
+
+    // Bitboard layout: column c owns bits [c * (rows + 1), c * (rows + 1) + rows).
+    // Bit 0 of a column is its bottom cell; the extra bit on top of every
+    // column is always empty so shifted win checks never wrap between columns.
+    private long xBits;
+    private long oBits;
+
+    // Boards too large for one long per player store each column's discs
+    // instead: bit h of a column is set when the disc at height h is X. The
+    // arrays grow as discs are stacked, so memory follows the number of moves
+    // rather than the board area.
+    private long[][] columnBits;
+
+    private int[] heights;
+    private int[] moveColumns = new int[16]; // Column of every move so far, for undo()
+    private int moveCount;
+    private int lastCol = -1;
+    private long changes; // Drops, undos and clears so far
     private int rows;
     private int cols;
-    
+
     public Board(int rows, int cols) {
+        if (rows < 1 || cols < 1 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported board size: " + rows + "x" + cols);
+        }
         this.rows = rows;
         this.cols = cols;
-        this.grid = new char[rows][cols];
-        initializeBoard();
+        this.heights = new int[cols];
+        if (!fitsBitboard(rows, cols)) {
+            this.columnBits = new long[cols][];
+        }
     }
-    
-    private void initializeBoard() {
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                grid[i][j] = ' '; 
+
+    public Board(Board other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.xBits = other.xBits;
+        this.oBits = other.oBits;
+        this.heights = other.heights.clone();
+        this.moveColumns = java.util.Arrays.copyOf(other.moveColumns, Math.max(16, other.moveCount));
+        this.moveCount = other.moveCount;
+        this.lastCol = other.lastCol;
+        this.changes = other.changes;
+        if (other.columnBits != null) {
+            this.columnBits = new long[cols][];
+            for (int col = 0; col < cols; col++) {
+                if (other.columnBits[col] != null) columnBits[col] = other.columnBits[col].clone();
             }
         }
     }
-    
+
     public boolean dropPiece(int col, char symbol) {
-        if (col < 0 || col >= cols || grid[0][col] != ' ') {
+        if (col < 0 || col >= cols || heights[col] == rows) {
+            return false;
+        }
+        if (symbol != 'X' && symbol != 'O') {
             return false;
         }
-        
-        for (int row = rows - 1; row >= 0; row--) {
-            if (grid[row][col] == ' ') {
-                grid[row][col] = symbol;
-                return true;
+
+        int height = heights[col];
+        if (columnBits != null) {
+            long[] column = columnBits[col];
+            if (column == null || height >> 6 == column.length) {
+                column = columnBits[col] = column == null ? new long[1]
+                                                          : java.util.Arrays.copyOf(column, column.length * 2);
+            }
+            if (symbol == 'X') column[height >> 6] |= 1L << (height & 63);
+        } else {
+            long bit = 1L << (col * (rows + 1) + height);
+            if (symbol == 'X') {
+                xBits |= bit;
+            } else {
+                oBits |= bit;
             }
         }
-        return false;
+        if (moveCount == moveColumns.length) {
+            moveColumns = java.util.Arrays.copyOf(moveColumns, moveColumns.length * 2);
+        }
+        moveColumns[moveCount] = col;
+        heights[col]++;
+        moveCount++;
+        lastCol = col;
+        changes++;
+        return true;
     }
-    
-    public boolean isFull() {
-        for (int col = 0; col < cols; col++) {
-            if (grid[0][col] == ' ') {
-                return false;
-            }
+
+    /**
+     * Takes back the most recent move in O(1), leaving the board exactly as
+     * it was before that dropPiece(). Returns false if the board is empty.
+     */
+    public boolean undo() {
+        if (moveCount == 0) {
+            return false;
+        }
+
+        int col = moveColumns[--moveCount];
+        int height = --heights[col];
+        if (columnBits != null) {
+            columnBits[col][height >> 6] &= ~(1L << (height & 63));
+        } else {
+            long bit = 1L << (col * (rows + 1) + height);
+            xBits &= ~bit;
+            oBits &= ~bit;
         }
+        lastCol = moveCount == 0 ? -1 : moveColumns[moveCount - 1];
+        changes++;
         return true;
     }
-    
+
+    public boolean isFull() {
+        return moveCount == rows * cols;
+    }
+
     public char getCell(int row, int col) {
         if (row < 0 || row >= rows || col < 0 || col >= cols) {
-            return ' '; 
+            return ' ';
+        }
+        int height = rows - 1 - row;
+        if (height >= heights[col]) return ' ';
+
+        if (columnBits != null) {
+            return (columnBits[col][height >> 6] & (1L << (height & 63))) != 0 ? 'X' : 'O';
         }
-        return grid[row][col];
+        return (xBits & (1L << (col * (rows + 1) + height))) != 0 ? 'X' : 'O';
     }
-    
-    public char[][] getGrid() { 
-        return grid; 
+
+    public boolean canPlay(int col) {
+        return col >= 0 && col < cols && heights[col] < rows;
     }
 
+    /**
+     * Returns a copy of the board as rows of characters (row 0 is the top).
+     * Changes to the returned array do not affect the board.
+     */
+    public char[][] getGrid() {
+        char[][] grid = new char[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                grid[i][j] = getCell(i, j);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Replaces the position with the given grid (row 0 is the top).
+     * Each column is stacked from the bottom up to its first empty cell. A
+     * grid has no move order, so undo() then takes discs back column by column.
+     */
+    public void loadGrid(char[][] grid) {
+        clear();
+        for (int j = 0; j < cols; j++) {
+            for (int i = rows - 1; i >= 0; i--) {
+                if (!dropPiece(j, grid[i][j])) break;
+            }
+        }
+    }
+
+    public void clear() {
+        xBits = 0L;
+        oBits = 0L;
+        moveCount = 0;
+        lastCol = -1;
+        changes++;
+        java.util.Arrays.fill(heights, 0);
+        if (columnBits != null) java.util.Arrays.fill(columnBits, null);
+    }
+
+    public Board copy() {
+        return new Board(this);
+    }
+
+    /**
+     * Returns an immutable snapshot that other threads may read while this
+     * board keeps changing. O(1) on bitboard boards; wide boards copy their
+     * discs, which costs O(moves / 64).
+     */
+    public Position snapshot() {
+        if (columnBits == null) {
+            return new Position(rows, cols, xBits, oBits, moveCount, lastCol, null, null);
+        }
+        long[][] columns = new long[cols][];
+        for (int col = 0; col < cols; col++) {
+            if (columnBits[col] != null) columns[col] = columnBits[col].clone();
+        }
+        return new Position(rows, cols, 0L, 0L, moveCount, lastCol, columns, heights.clone());
+    }
+
+    // --- Bitboard access (used by GameLogic and the AI) ---
+    /**
+     * True when the whole board fits the one-long-per-player bitboard layout,
+     * which the search engine, solver and opening book all require.
+     */
+    public static boolean fitsBitboard(int rows, int cols) {
+        return (long) (rows + 1) * cols <= Long.SIZE;
+    }
+
+    public boolean hasBitboard() {
+        return columnBits == null;
+    }
+
+    public long getBits(char symbol) {
+        requireBitboard();
+        return symbol == 'X' ? xBits : oBits;
+    }
+
+    public long getMask() {
+        requireBitboard();
+        return xBits | oBits;
+    }
+
+    private void requireBitboard() {
+        if (columnBits != null) {
+            throw new IllegalStateException("No bitboard for a " + rows + "x" + cols + " board");
+        }
+    }
+
+    public int getHeight(int col) { return heights[col]; }
+    public int getMoveCount() { return moveCount; }
+
+    // Grows by one on every drop, undo and clear, so observers can tell how much they missed
+    public long getChangeCount() { return changes; }
+
+    // Position of the most recently dropped piece (-1 on an empty board)
+    public int getLastCol() { return lastCol; }
+    public int getLastRow() { return lastCol < 0 ? -1 : rows - heights[lastCol]; }
+
     public int getRows() { return rows; }
     public int getCols() { return cols; }
-}
\ No newline at end of file
+}
@@ -3,6 +3,10 @@ package connectfour;
 import java.util.Scanner;
 
 public class ConnectFour {
+    private static final int MIN_BOARD_SIZE = 4;
+    private static final int MAX_BOARD_SIZE = 100;
+    private static final int MIN_WIN_LENGTH = 3;
+
     private Game game;
     private Scanner scanner;
     private String loggedInUser = null;
@@ -150,8 +154,52 @@ public class ConnectFour {
             player2 = scanner.nextLine();
         }
         
-        game = new Game(player1, player2, scanner, p2IsAI);
-        System.out.println("\nGame created: " + player1 + " (X) vs " + player2 + " (O)");
+        int[] size = askBoardSize();
+        int winLength = askWinLength(Math.max(size[0], size[1]));
+        game = new Game(player1, player2, scanner, p2IsAI, size[0], size[1], winLength);
+        System.out.println("\nGame created: " + player1 + " (X) vs " + player2 + " (O) on a "
+            + size[0] + "x" + size[1] + " board, connect " + winLength + " to win");
+    }
+    
+    private int askWinLength(int maxLength) {
+        System.out.print("Connect how many to win? (" + MIN_WIN_LENGTH + "-" + maxLength
+            + ", Enter for " + GameLogic.DEFAULT_WIN_LENGTH + "): ");
+        String input = scanner.nextLine().trim();
+        if (input.isEmpty()) {
+            return GameLogic.DEFAULT_WIN_LENGTH;
+        }
+        
+        try {
+            int winLength = Integer.parseInt(input);
+            if (winLength >= MIN_WIN_LENGTH && winLength <= maxLength) {
+                return winLength;
+            }
+        } catch (NumberFormatException e) { }
+        
+        System.out.println("Invalid length, defaulting to " + GameLogic.DEFAULT_WIN_LENGTH + ".");
+        return GameLogic.DEFAULT_WIN_LENGTH;
+    }
+    
+    private int[] askBoardSize() {
+        System.out.print("\nBoard size as rows x columns (" + MIN_BOARD_SIZE + "-" + MAX_BOARD_SIZE
+            + ", Enter for " + Board.DEFAULT_ROWS + "x" + Board.DEFAULT_COLS + "): ");
+        String input = scanner.nextLine().trim().toLowerCase();
+        if (input.isEmpty()) {
+            return new int[] { Board.DEFAULT_ROWS, Board.DEFAULT_COLS };
+        }
+        
+        try {
+            String[] parts = input.split("x");
+            int rows = Integer.parseInt(parts[0].trim());
+            int cols = Integer.parseInt(parts[1].trim());
+            if (rows >= MIN_BOARD_SIZE && rows <= MAX_BOARD_SIZE
+                    && cols >= MIN_BOARD_SIZE && cols <= MAX_BOARD_SIZE) {
+                return new int[] { rows, cols };
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) { }
+        
+        System.out.println("Invalid size, defaulting to " + Board.DEFAULT_ROWS + "x" + Board.DEFAULT_COLS + ".");
+        return new int[] { Board.DEFAULT_ROWS, Board.DEFAULT_COLS };
     }
     
     private void loadGame() {
@@ -165,8 +213,7 @@ public class ConnectFour {
             return;
         }
         
-        // This is the line that confirms the use of the new text file
-        System.out.println("Saved games in " + FileManager.SAVE_FILE_TEXT + ":");
+        System.out.println("Saved games in " + FileManager.SAVE_FILE + ":");
         for (int i = 1; i <= saveCount; i++) {
             System.out.println(i + ". Saved Game #" + i);
         }
@@ -194,7 +241,7 @@ public class ConnectFour {
              return;
         }
 
-        Game loaded = Game.loadGameText(saveIndex, scanner);
+        Game loaded = Game.loadGame(saveIndex, scanner);
         if (loaded != null) {
             game = loaded;
             System.out.println("\nLoaded: " + 
@@ -215,7 +262,12 @@ public class ConnectFour {
         while (playing) {
             showBoard();
             
-            if (game.makeMove()) {
+            boolean won = game.makeMove();
+            if (game.isExitRequested()) {
+                return;
+            }
+            
+            if (won) {
                 showBoard();
                 System.out.println("\n*** " + game.getCurrentPlayer().getName() + " WINS! ***");
                 showScores();
@@ -240,19 +292,30 @@ public class ConnectFour {
     }
     
     private void showBoard() {
-        System.out.println("\n  0 1 2 3 4 5 6");
-        System.out.println("---------------");
-        
         Board board = game.getBoard();
-        for (int row = 0; row < 6; row++) {
-            System.out.print("| ");
-            for (int col = 0; col < 7; col++) {
+        int cols = board.getCols();
+        // Every cell is as wide as the largest column number
+        int width = String.valueOf(cols - 1).length();
+        String cellFormat = "%-" + width + "s ";
+        
+        StringBuilder sb = new StringBuilder("\n  ");
+        for (int col = 0; col < cols; col++) {
+            sb.append(String.format(cellFormat, col));
+        }
+        sb.setLength(sb.length() - 1);
+        String border = "-".repeat(cols * (width + 1) + 1);
+        sb.append('\n').append(border).append('\n');
+        
+        for (int row = 0; row < board.getRows(); row++) {
+            sb.append("| ");
+            for (int col = 0; col < cols; col++) {
                 char cell = board.getCell(row, col);
-                System.out.print((cell == ' ' ? "." : cell) + " "); 
+                sb.append(String.format(cellFormat, cell == ' ' ? '.' : cell)); 
             }
-            System.out.println("|");
+            sb.append("|\n");
         }
-        System.out.println("---------------");
+        sb.append(border);
+        System.out.println(sb);
     }
     
     private void showScores() {
@@ -270,4 +333,4 @@ public class ConnectFour {
         app.startGame();
         app.scanner.close();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
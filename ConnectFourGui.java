@@ -5,6 +5,7 @@ import javafx.animation.Timeline;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
@@ -19,6 +20,9 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ConnectFourGui extends Application {
 
@@ -31,15 +35,33 @@ public class ConnectFourGui extends Application {
     private Stage primaryStage;
     private BorderPane gameLayout;
     private GridPane boardGrid;
+    private Circle[][] cells; // Created once per game scene; only changed cells are repainted
     private Label statusLabel;
     private Label scoreLabel;
 
     // --- Board Constants ---
-    private static final int ROWS = 6;
-    private static final int COLS = 7;
+    private static final int MIN_BOARD_SIZE = 4;
+    private static final int MAX_BOARD_SIZE = 100;
+    private static final int MIN_WIN_LENGTH = 3;
     private static final double CELL_SIZE = 80;
     private static final double DISC_RADIUS = 35;
+    private static final double MAX_BOARD_PIXELS = 640; // Larger boards get smaller discs
     private static final Color BOARD_BLUE = Color.web("#42A5F5"); 
+    private static final Color EMPTY_FILL = Color.web("#444444");
+    private static final Color EMPTY_STROKE = Color.web("#888888");
+    private static final Color RED_DISC = Color.web("#FF0000");
+    private static final Color YELLOW_DISC = Color.web("#FFFF00");
+
+    // --- AI Search ---
+    // One reusable background thread for AI moves so the UI never blocks on a search
+    private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ai-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Bumped on every cancel; a search result is only applied if it still matches
+    private long aiSearchId = 0;
+    private Future<?> aiSearch; // Latest task on aiExecutor
 
 
     @Override
@@ -66,6 +88,12 @@ public class ConnectFourGui extends Application {
         
         primaryStage.show();
     }
+
+    @Override
+    public void stop() {
+        cancelAISearch();
+        aiExecutor.shutdownNow();
+    }
     
     // =======================================================
     // SCENE 1 & 1B: LOGIN/REGISTER
@@ -182,6 +210,7 @@ public class ConnectFourGui extends Application {
     // SCENE 2: MAIN MENU
     // =======================================================
     private void showMainMenu() {
+        cancelAISearch();
         game = null; // Clear the current game state when returning to menu
         VBox root = new VBox(30);
         root.setPadding(new javafx.geometry.Insets(50));
@@ -215,6 +244,7 @@ public class ConnectFourGui extends Application {
     // SCENE 3 & 4: SETUP & LOAD
     // =======================================================
     private void showNewGameSetup() {
+        cancelAISearch();
         VBox root = new VBox(20);
         root.setPadding(new javafx.geometry.Insets(20));
         root.setAlignment(javafx.geometry.Pos.CENTER);
@@ -235,6 +265,21 @@ public class ConnectFourGui extends Application {
         p2NameField.setPromptText("Player 2 Name");
         p2NameField.setMaxWidth(250);
 
+        Spinner<Integer> rowsSpinner = new Spinner<>(MIN_BOARD_SIZE, MAX_BOARD_SIZE, Board.DEFAULT_ROWS);
+        Spinner<Integer> colsSpinner = new Spinner<>(MIN_BOARD_SIZE, MAX_BOARD_SIZE, Board.DEFAULT_COLS);
+        rowsSpinner.setEditable(true);
+        colsSpinner.setEditable(true);
+        rowsSpinner.setPrefWidth(80);
+        colsSpinner.setPrefWidth(80);
+        HBox sizeBox = new HBox(10, new Label("Board (rows x columns):"), rowsSpinner, new Label("x"), colsSpinner);
+        sizeBox.setAlignment(Pos.CENTER);
+
+        Spinner<Integer> winLengthSpinner = new Spinner<>(MIN_WIN_LENGTH, MAX_BOARD_SIZE, GameLogic.DEFAULT_WIN_LENGTH);
+        winLengthSpinner.setEditable(true);
+        winLengthSpinner.setPrefWidth(80);
+        HBox winLengthBox = new HBox(10, new Label("Connect to win:"), winLengthSpinner);
+        winLengthBox.setAlignment(Pos.CENTER);
+
         opponentGroup.selectedToggleProperty().addListener((obs, oldVal, newVal) -> {
             boolean isHuman = newVal == humanOpponent;
             p2NameField.setVisible(isHuman);
@@ -253,7 +298,16 @@ public class ConnectFourGui extends Application {
                 return;
             }
 
-            game = new Game(p1Name, p2Name, null, isAI); 
+            int rows = rowsSpinner.getValue();
+            int cols = colsSpinner.getValue();
+            int winLength = winLengthSpinner.getValue();
+            if (winLength > Math.max(rows, cols)) {
+                new Alert(Alert.AlertType.ERROR, "A line of " + winLength + " does not fit on a "
+                    + rows + "x" + cols + " board.").showAndWait();
+                return;
+            }
+
+            game = new Game(p1Name, p2Name, null, isAI, rows, cols, winLength); 
             showGameScene();
         });
 
@@ -267,9 +321,12 @@ public class ConnectFourGui extends Application {
             p2NameField,
             aiOpponent,
             new Separator(),
+            sizeBox,
+            winLengthBox,
+            new Separator(),
             startBtn
         );
-        primaryStage.setScene(new Scene(root, 450, 350));
+        primaryStage.setScene(new Scene(root, 450, 440));
         primaryStage.centerOnScreen();
     }
 
@@ -296,7 +353,8 @@ public class ConnectFourGui extends Application {
                 loadBtn.setStyle("-fx-background-color: #FFC107; -fx-font-weight: bold;");
                 final int saveIndex = i; 
                 loadBtn.setOnAction(e -> {
-                    game = Game.loadGameText(saveIndex, null); 
+                    cancelAISearch();
+                    game = Game.loadGame(saveIndex, null); 
                     if (game != null) {
                         showGameScene();
                     } else {
@@ -325,13 +383,18 @@ public class ConnectFourGui extends Application {
         gameLayout = new BorderPane();
         gameLayout.setStyle("-fx-background-color: #1A1A1A;"); 
         
+        // Shrink the discs on large boards so the whole board fits on screen
+        Board board = game.getBoard();
+        double scale = Math.min(1.0, MAX_BOARD_PIXELS / (Math.max(board.getRows(), board.getCols()) * CELL_SIZE));
+        
         boardGrid = new GridPane();
         boardGrid.setAlignment(javafx.geometry.Pos.CENTER);
-        boardGrid.setHgap(5);
-        boardGrid.setVgap(5);
+        boardGrid.setHgap(Math.max(1, 5 * scale));
+        boardGrid.setVgap(Math.max(1, 5 * scale));
         
         boardGrid.setStyle("-fx-background-color: " + toHexString(BOARD_BLUE) + "; -fx-padding: 10; -fx-border-color: #333333; -fx-border-width: 2;"); 
         
+        createBoardCells(DISC_RADIUS * scale);
         drawBoard();
         
         VBox controlPanel = createControlPanel();
@@ -342,9 +405,15 @@ public class ConnectFourGui extends Application {
         gameLayout.setCenter(centerPane);
         gameLayout.setRight(controlPanel);
 
-        primaryStage.setScene(new Scene(gameLayout, COLS * CELL_SIZE + 200, ROWS * CELL_SIZE + 50));
+        primaryStage.setScene(new Scene(gameLayout, board.getCols() * CELL_SIZE * scale + 200,
+                                        board.getRows() * CELL_SIZE * scale + 50));
         primaryStage.centerOnScreen();
         updateGameStatus();
+
+        // A loaded game may be saved with the computer to move
+        if (game.getCurrentPlayer() instanceof AIPlayer && !game.getGameLogic().isGameOver()) {
+            startAIMove();
+        }
     }
     
     private String toHexString(Color c) {
@@ -354,40 +423,55 @@ public class ConnectFourGui extends Application {
                              (int)(c.getBlue() * 255));
     }
     
-    private void drawBoard() {
-        char[][] grid = game.getBoard().getGrid();
-        boardGrid.getChildren().clear(); 
+    // Builds the circles and the single click handler for the whole board
+    private void createBoardCells(double discRadius) {
+        Board board = game.getBoard();
+        cells = new Circle[board.getRows()][board.getCols()];
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                cells[r][c] = new Circle(discRadius);
+                boardGrid.add(cells[r][c], c, r);
+            }
+        }
+        boardGrid.setOnMouseClicked(this::handleBoardClick);
+    }
 
-        for (int r = 0; r < ROWS; r++) {
-            for (int c = 0; c < COLS; c++) {
-                
-                Circle cell = new Circle(DISC_RADIUS, Color.web("#444444"));
-                cell.setStroke(Color.web("#888888")); 
-                cell.setStrokeWidth(2.0);
-                
-                char symbol = grid[r][c];
-                
-                if (symbol == 'X') {
-                    cell.setFill(Color.web("#FF0000")); 
-                    cell.setStroke(Color.BLACK); 
-                    cell.setStrokeWidth(1.0);
-                } else if (symbol == 'O') {
-                    cell.setFill(Color.web("#FFFF00")); 
-                    cell.setStroke(Color.BLACK);
-                    cell.setStrokeWidth(1.0);
-                } else {
-                    final int col = c;
-                    final int row = r;
-                    
-                    cell.setOnMouseClicked(e -> handleCellClick(e, row, col));
-                }
-                
-                boardGrid.add(cell, c, r);
+    // Repaints every cell (used when a game scene is first shown)
+    private void drawBoard() {
+        for (int r = 0; r < cells.length; r++) {
+            for (int c = 0; c < cells[r].length; c++) {
+                updateCell(r, c);
             }
         }
     }
-    
-    private void handleCellClick(MouseEvent event, int row, int col) {
+
+    // Repaints the cell that received the last disc
+    private void drawLastMove() {
+        Board board = game.getBoard();
+        updateCell(board.getLastRow(), board.getLastCol());
+    }
+
+    private void updateCell(int row, int col) {
+        Circle cell = cells[row][col];
+        char symbol = game.getBoard().getCell(row, col);
+
+        if (symbol == 'X' || symbol == 'O') {
+            cell.setFill(symbol == 'X' ? RED_DISC : YELLOW_DISC);
+            cell.setStroke(Color.BLACK);
+            cell.setStrokeWidth(1.0);
+        } else {
+            cell.setFill(EMPTY_FILL);
+            cell.setStroke(EMPTY_STROKE);
+            cell.setStrokeWidth(2.0);
+        }
+    }
+
+    // A click anywhere in a column drops a disc into that column
+    private void handleBoardClick(MouseEvent event) {
+        Node target = event.getPickResult().getIntersectedNode();
+        Integer col = target instanceof Circle ? GridPane.getColumnIndex(target) : null;
+        if (col == null) return;
+
         event.consume(); 
         handleMove(col);
     }
@@ -432,18 +516,10 @@ public class ConnectFourGui extends Application {
      * This replaces the need for the isBoardEmpty() method in Board.java.
      */
     private boolean isBoardEmptyCheck() {
-        if (game == null || game.getBoard() == null || game.getBoard().getGrid() == null) {
+        if (game == null || game.getBoard() == null) {
             return true; // Treat as empty if game state is uninitialized
         }
-        char[][] grid = game.getBoard().getGrid();
-        for (int r = 0; r < ROWS; r++) {
-            for (int c = 0; c < COLS; c++) {
-                if (grid[r][c] != ' ') {
-                    return false; // Found a piece
-                }
-            }
-        }
-        return true; // No pieces found
+        return game.getBoard().getMoveCount() == 0; // No pieces dropped yet
     }
     
     // =======================================================
@@ -457,7 +533,7 @@ public class ConnectFourGui extends Application {
     private void promptSaveOnExit(Runnable onExitAction) {
         
         // A game is considered "active" (and worth saving) if it hasn't ended AND is not empty.
-        boolean isGameActive = !(game.getGameLogic().checkWin('X') || game.getGameLogic().checkWin('O') || game.getBoard().isFull());
+        boolean isGameActive = !game.getGameLogic().isGameOver();
         
         if (isBoardEmptyCheck() || !isGameActive) { 
             onExitAction.run();
@@ -479,7 +555,7 @@ public class ConnectFourGui extends Application {
 
         if (result.isPresent()) {
             if (result.get() == saveButton) {
-                game.saveGameText();
+                game.saveGame();
                 new Alert(Alert.AlertType.INFORMATION, "Game Saved!").showAndWait();
                 onExitAction.run();
             } else if (result.get() == exitButton) {
@@ -541,7 +617,7 @@ public class ConnectFourGui extends Application {
     // GAME LOGIC
     // =======================================================
     private void handleMove(int col) {
-        if (game.getBoard().isFull() || game.getGameLogic().checkWin('X') || game.getGameLogic().checkWin('O')) {
+        if (game.getGameLogic().isGameOver()) {
              new Alert(Alert.AlertType.INFORMATION, "Game over! Start a new game.").showAndWait();
              return;
         }
@@ -558,15 +634,10 @@ public class ConnectFourGui extends Application {
             game.setCurrentPlayer((game.getCurrentPlayer() == game.getPlayers().get(0)) ? game.getPlayers().get(1) : game.getPlayers().get(0));
             
             updateGameStatus();
-            drawBoard();
-
-            if (game.getCurrentPlayer() instanceof AIPlayer) {
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(500); 
-                    } catch (InterruptedException ex) { }
-                    Platform.runLater(this::handleAIMove);
-                }).start();
+            drawLastMove();
+
+            if (game.getCurrentPlayer() instanceof AIPlayer && !game.getGameLogic().isGameOver()) {
+                startAIMove();
             }
         } else {
              statusLabel.setTextFill(Color.RED);
@@ -574,9 +645,36 @@ public class ConnectFourGui extends Application {
         }
     }
     
-    private void handleAIMove() {
-        int col = game.getCurrentPlayer().getNextMove(game.getBoard());
-        
+    /**
+     * Searches for the computer's move on the AI thread and applies it back on
+     * the JavaFX thread, unless the search was cancelled in the meantime.
+     */
+    private void startAIMove() {
+        Player ai = game.getCurrentPlayer();
+        Position position = game.getBoard().snapshot(); // The search never sees later UI changes
+        long searchId = ++aiSearchId;
+
+        aiSearch = aiExecutor.submit(() -> {
+            int col = ai.getNextMove(position.toBoard());
+            Platform.runLater(() -> {
+                if (searchId == aiSearchId) handleAIMove(col);
+            });
+        });
+    }
+
+    // Stops any in-flight AI search and discards its result
+    private void cancelAISearch() {
+        aiSearchId++;
+        // Drops a queued task and interrupts a running one, which stops its search
+        if (aiSearch != null) aiSearch.cancel(true);
+        aiSearch = null;
+        if (game == null) return;
+        for (Player p : game.getPlayers()) {
+            if (p instanceof AIPlayer) ((AIPlayer) p).cancel();
+        }
+    }
+
+    private void handleAIMove(int col) {
         if (col != -1) {
             
             game.getBoard().dropPiece(col, game.getCurrentPlayer().getSymbol());
@@ -587,22 +685,21 @@ public class ConnectFourGui extends Application {
             game.setCurrentPlayer((game.getCurrentPlayer() == game.getPlayers().get(0)) ? game.getPlayers().get(1) : game.getPlayers().get(0));
             
             updateGameStatus();
-            drawBoard();
+            drawLastMove();
+
+            // Keep searching while the human decides (no-op once the game is over)
+            game.startPondering();
         }
     }
     
     private void checkAndHandleGameEnd() {
         
-        Player winner = null;
-
-        if (game.getGameLogic().checkWin(game.getPlayers().get(0).getSymbol())) {
-            winner = game.getPlayers().get(0);
-        } else if (game.getGameLogic().checkWin(game.getPlayers().get(1).getSymbol())) {
-            winner = game.getPlayers().get(1);
-        }
+        // Only the piece just dropped by the current player can complete a line
+        Player winner = game.getGameLogic().checkLastMoveWin() ? game.getCurrentPlayer() : null;
 
         if (winner != null) {
             // --- Winner Found ---
+            game.stopPondering();
             
             statusLabel.setTextFill(Color.web("#008000")); 
             statusLabel.setText("*** " + winner.getName() + " WINS! ***");
@@ -617,6 +714,7 @@ public class ConnectFourGui extends Application {
             
         } else if (game.getBoard().isFull()) {
             // --- Draw Found ---
+            game.stopPondering();
             
             statusLabel.setTextFill(Color.web("#000080")); 
             statusLabel.setText("*** DRAW! ***");
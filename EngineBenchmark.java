@@ -0,0 +1,77 @@
+package connectfour;
+
+/**
+ * Command-line benchmark for the search engine. Searches a fixed set of
+ * positions to a fixed depth with 1, 2, 4, ... threads and prints time,
+ * nodes, nodes/second and speedup over one thread, then compares node
+ * counts with move ordering turned off and on.
+ *
+ * Usage: EngineBenchmark [depth] [maxThreads]
+ */
+public class EngineBenchmark {
+    // Opening sequences (columns played alternately, X first)
+    private static final String[] POSITIONS = { "", "33", "3242", "334411", "2345" };
+    private static final int DEFAULT_DEPTH = 12;
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                                         : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Depth " + depth + ", " + POSITIONS.length + " positions, up to "
+            + maxThreads + " threads");
+        System.out.printf("%8s %10s %14s %14s %8s%n", "threads", "time(ms)", "nodes", "nodes/s", "speedup");
+
+        run(depth, 1, true); // Warm up the JIT before timing anything
+
+        double baseMillis = 0;
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            long[] result = run(depth, threads, true);
+            double millis = result[0] / 1_000_000.0;
+            if (threads == 1) baseMillis = millis;
+            System.out.printf("%8d %10.1f %14d %14d %8.2f%n", threads, millis, result[1],
+                (long) (result[1] / (millis / 1000.0)), baseMillis / millis);
+        }
+
+        long[] unordered = run(depth, 1, false);
+        long[] ordered = run(depth, 1, true);
+        System.out.println();
+        System.out.printf("Move ordering off: %14d nodes %10.1f ms%n", unordered[1], unordered[0] / 1_000_000.0);
+        System.out.printf("Move ordering on:  %14d nodes %10.1f ms%n", ordered[1], ordered[0] / 1_000_000.0);
+        System.out.printf("Nodes saved by ordering: %.1f%%%n", 100.0 * (unordered[1] - ordered[1]) / unordered[1]);
+    }
+
+    // Returns { elapsed nanos, total nodes } over all positions with a fresh engine
+    private static long[] run(int depth, int threads, boolean moveOrdering) {
+        SearchEngine engine = new SearchEngine(SearchEngine.DEFAULT_TABLE_MB, threads);
+        engine.setMoveOrdering(moveOrdering);
+        long nanos = 0;
+        long nodes = 0;
+        for (String moves : POSITIONS) {
+            Board board = new Board(6, 7);
+            char symbol = play(board, moves);
+            engine.getTable().clear();
+
+            long start = System.nanoTime();
+            engine.findBestMove(board, symbol, depth);
+            nanos += System.nanoTime() - start;
+            nodes += engine.getNodes();
+        }
+        engine.setThreads(1);
+        return new long[] { nanos, nodes };
+    }
+
+    // Plays a sequence of column digits and returns the symbol to move next
+    static char play(Board board, String moves) {
+        char symbol = 'X';
+        for (int i = 0; i < moves.length(); i++) {
+            board.dropPiece(moves.charAt(i) - '0', symbol);
+            symbol = symbol == 'X' ? 'O' : 'X';
+        }
+        return symbol;
+    }
+
+    private static int nextThreadCount(int threads, int maxThreads) {
+        return threads < maxThreads && threads * 2 > maxThreads ? maxThreads : threads * 2;
+    }
+}
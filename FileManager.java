@@ -1,36 +1,58 @@
 package connectfour;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class FileManager implements UserManager {
     
     // --- File Constants ---
     public static final String USER_FILE = "users.bin";          // Binary file for login
     public static final String SCORES_FILE = "player_scores.txt"; // Text file for total wins
-    public static final String SAVE_FILE_TEXT = "game_saves.txt"; // Text file for game save/load
+    public static final String SCORES_LOG = "player_scores.log";  // Binary log of wins since SCORES_FILE was written
+    public static final String SCORES_LOG_OLD = "player_scores.log.old"; // Log being compacted into SCORES_FILE
+    public static final String SAVE_FILE = "game_saves.bin";      // Binary file for game save/load
+    public static final String SAVE_FILE_TEXT = "game_saves.txt"; // Older text saves, imported into SAVE_FILE
     public static final String HISTORY_FILE = "game_history.txt"; // Text file for per-game history
+    public static final String SAVE_INDEX_FILE = "game_saves.idx"; // Binary offsets of the saves in SAVE_FILE
     public static final String SAVE_SEPARATOR = "---NEW_SAVE---";
 
+    // --- User index: users.bin read once per process, then kept in step with appends ---
+    private static final Object USER_LOCK = new Object();
+    private static Map<String, String> userIndex; // Username -> password
+
+    // --- Binary saves: a file header, then records of (int length, byte version, payload) ---
+    private static final int SAVE_MAGIC = 0x43345356; // "C4SV"
+    private static final int SAVE_HEADER_BYTES = Integer.BYTES;
+    private static final byte SAVE_VERSION = 2;
+    private static final byte SAVE_UNREADABLE = 0; // Stands in for a text save that could not be imported
+
+    // --- Save index: the SAVE_FILE length it describes, then the offset of each save ---
+    private static final Object SAVE_LOCK = new Object();
+
+    // --- Scores: SCORES_FILE plus the log of later updates, loaded once per process ---
+    private static final long SCORE_LOG_COMPACT_BYTES = 64 * 1024; // Log size that triggers a compaction
+    private static final Object SCORE_LOCK = new Object();
+    private static Map<String, Integer> scoreCache;
+    private static DataOutputStream scoreLog;
+    private static FileOutputStream scoreLogFile; // Under scoreLog, for sync()
+    private static long scoreLogBytes;
+    private static long nextCompactionBytes = SCORE_LOG_COMPACT_BYTES;
+    private static boolean compactionPending;
+    private static ExecutorService scoreWriter;
+
     // --- User Management (users.bin) ---
     @Override
     public boolean login(String username, String password) {
-        if (!new File(USER_FILE).exists()) return false;
-        
-        try (DataInputStream dis = new DataInputStream(
-                new BufferedInputStream(new FileInputStream(USER_FILE)))) {
-            
-            while (dis.available() > 0) {
-                String storedUser = dis.readUTF();
-                String storedPass = dis.readUTF();
-                if (storedUser.equals(username) && storedPass.equals(password)) {
-                    return true;
-                }
-            }
-        } catch (IOException e) {
-            System.out.println("Login Error: " + e.getMessage());
+        synchronized (USER_LOCK) {
+            String storedPass = users().get(username);
+            return storedPass != null && storedPass.equals(password);
         }
-        return false;
     }
     
     @Override
@@ -47,61 +69,214 @@ public class FileManager implements UserManager {
             }
         }
 
-        if (userExists(username)) {
-            System.out.println("Error: Username already exists.");
-            return false;
-        }
+        synchronized (USER_LOCK) {
+            if (userExists(username)) {
+                System.out.println("Error: Username already exists.");
+                return false;
+            }
 
-        try (DataOutputStream dos = new DataOutputStream(
-                new BufferedOutputStream(new FileOutputStream(USER_FILE, true)))) {
-            dos.writeUTF(username);
-            dos.writeUTF(password);
+            // Same append-only record as before, so the file stays readable by older versions
+            try (DataOutputStream dos = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(USER_FILE, true)))) {
+                dos.writeUTF(username);
+                dos.writeUTF(password);
+            } catch (IOException e) {
+                System.out.println("Registration Error: " + e.getMessage());
+                return false;
+            }
+            users().put(username, password);
             return true;
-        } catch (IOException e) {
-            System.out.println("Registration Error: " + e.getMessage());
-            return false;
         }
     }
     
     @Override
     public boolean userExists(String username) {
-        if (!new File(USER_FILE).exists()) return false;
+        synchronized (USER_LOCK) {
+            return users().containsKey(username);
+        }
+    }
+
+    // Reads users.bin on first use; callers hold USER_LOCK
+    private static Map<String, String> users() {
+        if (userIndex != null) return userIndex;
+        userIndex = new HashMap<>();
+        if (!new File(USER_FILE).exists()) return userIndex;
         
         try (DataInputStream dis = new DataInputStream(
                 new BufferedInputStream(new FileInputStream(USER_FILE)))) {
             
             while (dis.available() > 0) {
                 String storedUser = dis.readUTF();
-                dis.readUTF();
-                if (storedUser.equals(username)) return true;
+                String storedPass = dis.readUTF();
+                userIndex.putIfAbsent(storedUser, storedPass); // register() never writes duplicates
             }
         } catch (IOException e) {
-            System.out.println("User Check Error: " + e.getMessage());
+            System.out.println("User Load Error: " + e.getMessage());
         }
-        return false;
+        return userIndex;
     }
     
-    // --- Player Total Wins (player_scores.txt) ---
+    // --- Player Total Wins (player_scores.txt + player_scores.log) ---
+    /**
+     * Updates the cached score and appends one small record (name, new total)
+     * to the score log, so a win costs the same however many players there
+     * are. The record is synced to disk before this returns. Once the log
+     * passes SCORE_LOG_COMPACT_BYTES a background thread folds it into the
+     * scores file.
+     */
     public void savePlayerScore(String username, int wins) {
-        Map<String, Integer> allScores = loadAllScores();
-        allScores.put(username, wins);
-        
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(SCORES_FILE))) {
+        synchronized (SCORE_LOCK) {
+            scores().put(username, wins);
+            appendScore(username, wins);
+            if (scoreLogBytes >= nextCompactionBytes && !compactionPending) {
+                compactionPending = true;
+                scoreWriter.submit(FileManager::compactScores);
+            }
+        }
+    }
+    
+    public int loadPlayerScore(String username) {
+        synchronized (SCORE_LOCK) {
+            return scores().getOrDefault(username, 0);
+        }
+    }
+
+    /**
+     * Folds the log into the scores file. Only the hand-over needs the lock:
+     * the cache is copied and the log renamed to SCORES_LOG_OLD, with new wins
+     * going to a fresh log. The copy is then written outside the lock, so
+     * saves and loads never wait for the rewrite, and the old log is deleted
+     * once the new scores file is in place. Records hold totals rather than
+     * increments, so replaying a log the file already covers changes nothing.
+     */
+    public static synchronized void compactScores() { // One compaction at a time
+        Map<String, Integer> snapshot;
+        synchronized (SCORE_LOCK) {
+            compactionPending = false;
+            if (scoreCache == null) return;
+            snapshot = new HashMap<>(scoreCache);
+
+            // If an earlier compaction failed its old log is still there; the snapshot covers both
+            File oldLog = new File(SCORES_LOG_OLD);
+            if (!oldLog.exists()) {
+                closeScoreLog();
+                if (!new File(SCORES_LOG).renameTo(oldLog)) {
+                    System.out.println("Total Score Save Error: could not rotate " + SCORES_LOG);
+                }
+                openScoreLog();
+            }
+            // Unless the log was rotated it is still as long as before: retry once it has grown again
+            nextCompactionBytes = scoreLogBytes + SCORE_LOG_COMPACT_BYTES;
+        }
+
+        if (writeAllScores(snapshot)) { // Otherwise keep the old log; a later compaction retries
+            new File(SCORES_LOG_OLD).delete();
+        }
+    }
+
+    // Loads the scores file and replays the log on first use; callers hold SCORE_LOCK
+    private static Map<String, Integer> scores() {
+        if (scoreCache == null) {
+            scoreCache = loadAllScores();
+            replayScoreLog(new File(SCORES_LOG_OLD), scoreCache); // Left by an unfinished compaction
+            replayScoreLog(new File(SCORES_LOG), scoreCache);
+            openScoreLog();
+            scoreWriter = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "score-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scoreCache;
+    }
+
+    private static void appendScore(String username, int wins) {
+        if (scoreLog == null) return;
+        try {
+            int before = scoreLog.size();
+            scoreLog.writeUTF(username);
+            scoreLog.writeInt(wins);
+            scoreLog.flush(); // One small write per win
+            scoreLogFile.getFD().sync(); // A win that has been reported survives a crash
+            scoreLogBytes += scoreLog.size() - before;
+        } catch (IOException e) {
+            System.out.println("Total Score Save Error: " + e.getMessage());
+        }
+    }
+
+    // Applies the log's records in order. A record cut short by a crash is dropped from the file.
+    private static void replayScoreLog(File file, Map<String, Integer> scores) {
+        if (!file.exists()) return;
+
+        try {
+            byte[] log = java.nio.file.Files.readAllBytes(file.toPath());
+            DataInputStream dis = new DataInputStream(new ByteArrayInputStream(log));
+            int complete = 0;
+            try {
+                while (dis.available() > 0) {
+                    String name = dis.readUTF();
+                    int wins = dis.readInt();
+                    scores.put(name, wins);
+                    complete = log.length - dis.available();
+                }
+            } catch (EOFException e) { }
+
+            if (complete < log.length) {
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(complete);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Total Score Load Error: " + e.getMessage());
+        }
+    }
+
+    private static void openScoreLog() {
+        try {
+            scoreLogFile = new FileOutputStream(SCORES_LOG, true);
+            scoreLog = new DataOutputStream(new BufferedOutputStream(scoreLogFile));
+            scoreLogBytes = new File(SCORES_LOG).length();
+        } catch (IOException e) {
+            System.out.println("Total Score Save Error: " + e.getMessage());
+            scoreLog = null;
+            scoreLogFile = null;
+        }
+    }
+
+    private static void closeScoreLog() {
+        if (scoreLog == null) return;
+        try {
+            scoreLog.close();
+        } catch (IOException e) {
+            System.out.println("Total Score Save Error: " + e.getMessage());
+        }
+        scoreLog = null;
+        scoreLogFile = null;
+    }
+
+    // Written to a temporary file first so a crash mid-write keeps the old scores
+    private static boolean writeAllScores(Map<String, Integer> allScores) {
+        File temp = new File(SCORES_FILE + ".tmp");
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(temp))) {
             for (Map.Entry<String, Integer> entry : allScores.entrySet()) {
                 bw.write(entry.getKey() + ":" + entry.getValue());
                 bw.newLine();
             }
         } catch (IOException e) {
             System.out.println("Total Score Save Error: " + e.getMessage());
+            return false;
+        }
+        try {
+            java.nio.file.Files.move(temp.toPath(), new File(SCORES_FILE).toPath(),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Total Score Save Error: " + e.getMessage());
+            return false;
         }
     }
     
-    public int loadPlayerScore(String username) {
-        Map<String, Integer> allScores = loadAllScores();
-        return allScores.getOrDefault(username, 0);
-    }
-    
-    private Map<String, Integer> loadAllScores() {
+    private static Map<String, Integer> loadAllScores() {
         Map<String, Integer> scores = new HashMap<>();
         
         if (!new File(SCORES_FILE).exists()) {
@@ -171,104 +346,376 @@ public class FileManager implements UserManager {
         return count;
     }
     
-    // --- Game Save/Load (game_saves.txt) ---
-    public static void saveGameText(GameData gameData) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(SAVE_FILE_TEXT, true))) {
-            
-            bw.write(SAVE_SEPARATOR);
-            bw.newLine();
+    // --- Game Save/Load (game_saves.bin, indexed by game_saves.idx) ---
+    public static void saveGame(GameData gameData) {
+        synchronized (SAVE_LOCK) {
+            boolean indexed = ensureSaveIndex();
+            long offset;
+            try (FileChannel channel = FileChannel.open(new File(SAVE_FILE).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                offset = appendRecord(channel, encodeSave(gameData));
+            } catch (IOException e) {
+                System.out.println("Game Save Error: " + e.getMessage());
+                return;
+            }
 
-            bw.write(gameData.gamesPlayed + "," + gameData.currentPlayerName);
-            bw.newLine();
+            // A save the index misses is picked up by the next rebuild
+            if (indexed) {
+                try (RandomAccessFile idx = new RandomAccessFile(SAVE_INDEX_FILE, "rw")) {
+                    idx.seek(idx.length());
+                    idx.writeLong(offset);
+                    idx.seek(0);
+                    idx.writeLong(new File(SAVE_FILE).length());
+                } catch (IOException e) {
+                    System.out.println("Save Index Error: " + e.getMessage());
+                }
+            }
+            System.out.println("Game state saved to: " + SAVE_FILE);
+        }
+    }
 
-            for (GameData.PlayerInfo player : gameData.players) {
-                bw.write(player.name + "," + player.type + "," + player.symbol + "," + player.score);
-                bw.newLine();
+    // Writes one record at the end of the file (and the header into an empty one); returns its offset
+    private static long appendRecord(FileChannel channel, ByteBuffer record) throws IOException {
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(SAVE_HEADER_BYTES).putInt(SAVE_MAGIC);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+        }
+        long offset = channel.size();
+        while (record.hasRemaining()) channel.write(record);
+        return offset;
+    }
+    
+    // Save numbers start at 1; the index gives the save's offset, so only that save is read
+    public static GameData loadGame(int saveIndex) {
+        synchronized (SAVE_LOCK) {
+            if (saveIndex < 1 || saveIndex > getSaveCount()) return null;
+
+            try (RandomAccessFile idx = new RandomAccessFile(SAVE_INDEX_FILE, "r");
+                 FileChannel channel = FileChannel.open(new File(SAVE_FILE).toPath(), StandardOpenOption.READ)) {
+                idx.seek((long) saveIndex * Long.BYTES);
+                long offset = idx.readLong();
+
+                ByteBuffer length = readFully(channel, offset, Integer.BYTES);
+                GameData gameData = decodeSave(readFully(channel, offset + Integer.BYTES, length.getInt()));
+                System.out.println("Game loaded successfully (Save #" + saveIndex + ")");
+                return gameData;
+            } catch (Exception e) {
+                System.out.println("Game Load Error: " + e.getMessage());
             }
-            
-            StringBuilder boardLine = new StringBuilder();
-            for (int i = 0; i < 6; i++) {
-                for (int j = 0; j < 7; j++) {
-                    boardLine.append(gameData.board[i][j] == ' ' ? '.' : gameData.board[i][j]); 
+            return null;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Save file ends inside a save");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Version 2 record, after its int length: the version byte; gamesPlayed,
+     * rows, cols (ints); winLength, the index of the player to move and the
+     * player count (bytes); per player a name (int length + UTF-8), type
+     * (0 human, 1 AI), symbol and score (int); then the board. Boards that
+     * fit the bitboard layout store X's and O's discs as two longs; larger
+     * ones store each column's height (int) and X bits (longs). Version 1
+     * differs only in a short name length, which longer names overflowed.
+     */
+    private static ByteBuffer encodeSave(GameData gameData) {
+        int rows = gameData.board.length;
+        int cols = gameData.board[0].length;
+        Board board = new Board(rows, cols);
+        board.loadGrid(gameData.board);
+
+        List<byte[]> names = new ArrayList<>();
+        int size = Integer.BYTES + 1 + 3 * Integer.BYTES + 3;
+        for (GameData.PlayerInfo player : gameData.players) {
+            byte[] name = player.name.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += Integer.BYTES + name.length + 2 + Integer.BYTES;
+        }
+        if (board.hasBitboard()) {
+            size += 2 * Long.BYTES;
+        } else {
+            for (int col = 0; col < cols; col++) {
+                size += Integer.BYTES + (board.getHeight(col) + 63) / 64 * Long.BYTES;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(size - Integer.BYTES);
+        buffer.put(SAVE_VERSION);
+        buffer.putInt(gameData.gamesPlayed).putInt(rows).putInt(cols);
+        buffer.put((byte) gameData.winLength);
+        int toMove = 0;
+        for (int i = 0; i < gameData.players.size(); i++) {
+            if (gameData.players.get(i).name.equals(gameData.currentPlayerName)) toMove = i;
+        }
+        buffer.put((byte) toMove);
+        buffer.put((byte) gameData.players.size());
+        for (int i = 0; i < gameData.players.size(); i++) {
+            GameData.PlayerInfo player = gameData.players.get(i);
+            buffer.putInt(names.get(i).length).put(names.get(i));
+            buffer.put((byte) (player.type.equals("AIPlayer") ? 1 : 0));
+            buffer.put((byte) player.symbol);
+            buffer.putInt(player.score);
+        }
+
+        if (board.hasBitboard()) {
+            buffer.putLong(board.getBits('X')).putLong(board.getBits('O'));
+        } else {
+            for (int col = 0; col < cols; col++) {
+                int height = board.getHeight(col);
+                buffer.putInt(height);
+                for (int word = 0; word < (height + 63) / 64; word++) {
+                    long bits = 0L;
+                    for (int h = word * 64; h < Math.min(height, word * 64 + 64); h++) {
+                        if (board.getCell(rows - 1 - h, col) == 'X') bits |= 1L << (h & 63);
+                    }
+                    buffer.putLong(bits);
                 }
             }
-            bw.write(boardLine.toString());
-            bw.newLine();
-            
-            System.out.println("Game state saved to: " + SAVE_FILE_TEXT);
-        } catch (IOException e) {
-            System.out.println("Game Save Error: " + e.getMessage());
         }
+        buffer.flip();
+        return buffer;
     }
-    
-    public static GameData loadGameText(int saveIndex) {
-        if (!new File(SAVE_FILE_TEXT).exists()) return null;
 
+    private static GameData decodeSave(ByteBuffer buffer) throws IOException {
+        byte version = buffer.get();
+        if (version == SAVE_UNREADABLE) {
+            throw new IOException("This save could not be imported from " + SAVE_FILE_TEXT);
+        }
+        if (version != SAVE_VERSION && version != 1) {
+            throw new IOException("Unsupported save version " + version);
+        }
+
+        GameData gameData = new GameData();
+        gameData.gamesPlayed = buffer.getInt();
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        gameData.winLength = buffer.get() & 0xFF;
+        int toMove = buffer.get();
+        int playerCount = buffer.get();
+        for (int i = 0; i < playerCount; i++) {
+            GameData.PlayerInfo player = new GameData.PlayerInfo();
+            int nameLength = version == 1 ? buffer.getShort() & 0xFFFF : buffer.getInt();
+            if (nameLength < 0 || nameLength > buffer.remaining()) {
+                throw new IOException("Corrupt save: player name of " + nameLength + " bytes");
+            }
+            byte[] name = new byte[nameLength];
+            buffer.get(name);
+            player.name = new String(name, StandardCharsets.UTF_8);
+            player.type = buffer.get() == 1 ? "AIPlayer" : "HumanPlayer";
+            player.symbol = (char) buffer.get();
+            player.score = buffer.getInt();
+            gameData.players.add(player);
+        }
+        gameData.currentPlayerName = gameData.players.get(toMove).name;
+
+        gameData.board = new char[rows][cols];
+        for (char[] row : gameData.board) Arrays.fill(row, ' ');
+        if (Board.fitsBitboard(rows, cols)) {
+            long xBits = buffer.getLong();
+            long oBits = buffer.getLong();
+            for (int col = 0; col < cols; col++) {
+                for (int h = 0; h < rows; h++) {
+                    long bit = 1L << (col * (rows + 1) + h);
+                    if ((xBits & bit) != 0) gameData.board[rows - 1 - h][col] = 'X';
+                    if ((oBits & bit) != 0) gameData.board[rows - 1 - h][col] = 'O';
+                }
+            }
+        } else {
+            for (int col = 0; col < cols; col++) {
+                int height = buffer.getInt();
+                long bits = 0L;
+                for (int h = 0; h < height; h++) {
+                    if ((h & 63) == 0) bits = buffer.getLong();
+                    gameData.board[rows - 1 - h][col] = (bits & (1L << (h & 63))) != 0 ? 'X' : 'O';
+                }
+            }
+        }
+        return gameData;
+    }
+
+    // Parses the lines of one text save, from the line after its separator
+    private static GameData readSaveText(Iterator<String> lines) {
+        GameData gameData = new GameData();
+        
+        String[] meta = lines.next().split(",");
+        gameData.gamesPlayed = Integer.parseInt(meta[0]);
+        gameData.currentPlayerName = meta[1];
+        // Older saves have no size (6x7) or line length (4)
+        int rows = meta.length >= 4 ? Integer.parseInt(meta[2]) : Board.DEFAULT_ROWS;
+        int cols = meta.length >= 4 ? Integer.parseInt(meta[3]) : Board.DEFAULT_COLS;
+        if (meta.length >= 5) gameData.winLength = Integer.parseInt(meta[4]);
+
+        for (int i = 0; i < 2; i++) {
+            String[] pInfo = lines.next().split(",");
+            GameData.PlayerInfo player = new GameData.PlayerInfo();
+            player.name = pInfo[0];
+            player.type = pInfo[1];
+            player.symbol = pInfo[2].charAt(0);
+            player.score = Integer.parseInt(pInfo[3]);
+            gameData.players.add(player);
+        }
+
+        String boardString = lines.next();
+        gameData.board = new char[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                char cell = boardString.charAt(i * cols + j);
+                gameData.board[i][j] = (cell == '.' ? ' ' : cell); 
+            }
+        }
+        return gameData;
+    }
+
+    /**
+     * Copies every save in the text file into the binary file, in order, the
+     * first time the binary file is needed. The text file is left as it is.
+     * A save that cannot be parsed gets a placeholder record, so the saves
+     * after it keep their numbers. The copy is built in a temporary file and
+     * only becomes SAVE_FILE once it is complete.
+     */
+    private static void importTextSaves() {
+        if (!new File(SAVE_FILE_TEXT).exists()) return;
+
+        List<List<String>> saves = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(SAVE_FILE_TEXT))) {
             String line;
-            int currentIndex = 0;
-            
             while ((line = br.readLine()) != null) {
                 if (line.trim().equals(SAVE_SEPARATOR)) {
-                    currentIndex++;
-
-                    if (currentIndex == saveIndex) {
-                        GameData gameData = new GameData();
-                        
-                        String[] meta = br.readLine().split(",");
-                        gameData.gamesPlayed = Integer.parseInt(meta[0]);
-                        gameData.currentPlayerName = meta[1];
-
-                        for (int i = 0; i < 2; i++) {
-                            String[] pInfo = br.readLine().split(",");
-                            GameData.PlayerInfo player = new GameData.PlayerInfo();
-                            player.name = pInfo[0];
-                            player.type = pInfo[1];
-                            player.symbol = pInfo[2].charAt(0);
-                            player.score = Integer.parseInt(pInfo[3]);
-                            gameData.players.add(player);
-                        }
-
-                        String boardString = br.readLine();
-                        gameData.board = new char[6][7];
-                        for (int i = 0; i < 6; i++) {
-                            for (int j = 0; j < 7; j++) {
-                                char cell = boardString.charAt(i * 7 + j);
-                                gameData.board[i][j] = (cell == '.' ? ' ' : cell); 
-                            }
-                        }
-                        
-                        System.out.println("Game loaded successfully (Save #" + saveIndex + ")");
-                        return gameData;
-                    }
+                    saves.add(new ArrayList<>());
+                } else if (!saves.isEmpty()) {
+                    saves.get(saves.size() - 1).add(line);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Game Import Error: " + e.getMessage());
+            return;
+        }
+        if (saves.isEmpty()) return;
+
+        File temp = new File(SAVE_FILE + ".tmp");
+        int skipped = 0;
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < saves.size(); i++) {
+                ByteBuffer record;
+                try {
+                    record = encodeSave(readSaveText(saves.get(i).iterator()));
+                } catch (RuntimeException e) {
+                    System.out.println("Game Import Error: save #" + (i + 1) + " could not be read: " + e);
+                    record = unreadableSave();
+                    skipped++;
                 }
+                appendRecord(channel, record);
             }
-        } catch (Exception e) {
-            System.out.println("Game Load Error: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Game Import Error: " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        try {
+            java.nio.file.Files.move(temp.toPath(), new File(SAVE_FILE).toPath(),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println("Game Import Error: " + e.getMessage());
+            temp.delete();
+            return;
         }
-        return null;
+        System.out.println("Imported " + (saves.size() - skipped) + " saved games from " + SAVE_FILE_TEXT
+            + (skipped > 0 ? " (" + skipped + " could not be read)" : ""));
+    }
+
+    // Placeholder for a save that could not be imported; loading it reports that
+    private static ByteBuffer unreadableSave() {
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + 1).putInt(1).put(SAVE_UNREADABLE);
+        record.flip();
+        return record;
     }
     
+    // O(1): read from the size of the index
     public static int getSaveCount() {
-        if (!new File(SAVE_FILE_TEXT).exists()) return 0;
-        int count = 0;
-        try (BufferedReader br = new BufferedReader(new FileReader(SAVE_FILE_TEXT))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.trim().equals(SAVE_SEPARATOR)) {
-                    count++;
-                }
+        synchronized (SAVE_LOCK) {
+            if (!ensureSaveIndex() || !new File(SAVE_FILE).exists()) return 0;
+            return (int) (new File(SAVE_INDEX_FILE).length() / Long.BYTES) - 1;
+        }
+    }
+
+    /**
+     * Makes sure the index describes the current save file, rebuilding it
+     * when it is missing or the save file has changed length. The rebuild
+     * only hops from one record length to the next. Text saves are imported
+     * first if there is no binary file yet. Returns false if there is no
+     * usable index. Callers hold SAVE_LOCK.
+     */
+    private static boolean ensureSaveIndex() {
+        File saves = new File(SAVE_FILE);
+        if (!saves.exists()) importTextSaves();
+
+        File index = new File(SAVE_INDEX_FILE);
+        if (index.exists() && index.length() >= Long.BYTES) {
+            try (RandomAccessFile idx = new RandomAccessFile(index, "r")) {
+                if (idx.readLong() == saves.length()) return true;
+            } catch (IOException e) {
+                System.out.println("Save Index Error: " + e.getMessage());
             }
+        }
+
+        File temp = new File(SAVE_INDEX_FILE + ".tmp");
+        try (DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temp)))) {
+            dos.writeLong(saves.length());
+            if (saves.exists()) {
+                for (long offset : scanSaveOffsets(saves)) dos.writeLong(offset);
+            }
+        } catch (IOException e) {
+            System.out.println("Save Index Error: " + e.getMessage());
+            return false;
+        }
+        try {
+            java.nio.file.Files.move(temp.toPath(), index.toPath(),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            return true;
         } catch (IOException e) {
-            System.out.println("Save Count Error: " + e.getMessage());
+            System.out.println("Save Index Error: " + e.getMessage());
+            return false;
         }
-        return count;
+    }
+
+    // Offset of every complete record; a record cut short at the end is left out
+    private static List<Long> scanSaveOffsets(File saves) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(saves.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SAVE_HEADER_BYTES) return offsets;
+            if (readFully(channel, 0, SAVE_HEADER_BYTES).getInt() != SAVE_MAGIC) {
+                throw new IOException(SAVE_FILE + " is not a save file");
+            }
+
+            long position = SAVE_HEADER_BYTES;
+            while (position + Integer.BYTES <= size) {
+                long next = position + Integer.BYTES + readFully(channel, position, Integer.BYTES).getInt();
+                if (next > size) break;
+                offsets.add(position);
+                position = next;
+            }
+        }
+        return offsets;
     }
 
     public static class GameData {
         public int gamesPlayed;
         public String currentPlayerName;
         public char[][] board;
+        public int winLength = GameLogic.DEFAULT_WIN_LENGTH;
         public java.util.ArrayList<PlayerInfo> players = new java.util.ArrayList<>();
         
         public static class PlayerInfo {
@@ -12,10 +12,22 @@ public class Game {
     private Scanner scanner;
     private FileManager fileManager;
     private int historyCount;
+    private boolean exitRequested;
+    private int winLength;
 
     public Game(String p1Name, String p2Name, Scanner scanner, boolean p2IsAI) {
-        this.board = new Board(6, 7);
-        this.gameLogic = new GameLogic(board);
+        this(p1Name, p2Name, scanner, p2IsAI, Board.DEFAULT_ROWS, Board.DEFAULT_COLS);
+    }
+
+    public Game(String p1Name, String p2Name, Scanner scanner, boolean p2IsAI, int rows, int cols) {
+        this(p1Name, p2Name, scanner, p2IsAI, rows, cols, GameLogic.DEFAULT_WIN_LENGTH);
+    }
+
+    // Connect-K: the first line of winLength discs wins
+    public Game(String p1Name, String p2Name, Scanner scanner, boolean p2IsAI, int rows, int cols, int winLength) {
+        this.board = new Board(rows, cols);
+        this.winLength = winLength;
+        this.gameLogic = new GameLogic(board, winLength);
         this.players = new ArrayList<>();
         this.scores = new HashMap<>();
         // Note: scanner is now null when called from GUI
@@ -24,7 +36,14 @@ public class Game {
         
         // Note: passing null for scanner when called from GUI
         players.add(new HumanPlayer(p1Name, 'X', scanner));
-        players.add(p2IsAI ? new AIPlayer(p2Name, 'O') : new HumanPlayer(p2Name, 'O', scanner));
+        if (p2IsAI) {
+            AIPlayer ai = new AIPlayer(p2Name, 'O');
+            ai.setWinLength(winLength);
+            ai.setPondering(true); // Think on the human's time
+            players.add(ai);
+        } else {
+            players.add(new HumanPlayer(p2Name, 'O', scanner));
+        }
         
         currentPlayer = players.get(0);
         
@@ -39,15 +58,18 @@ public class Game {
         int col = currentPlayer.getNextMove(board);
         
         if (col == -2) { // 'save' command
-            saveGameText();
+            saveGame();
             return false;
         } else if (col == -3) { // 'exit' command
             System.out.println("Exiting game...");
-            System.exit(0);
+            stopPondering();
+            exitRequested = true;
+            return false;
         }
         
-        if (col >= 0 && col < 7 && board.dropPiece(col, currentPlayer.getSymbol())) {
-            if (gameLogic.checkWin(currentPlayer.getSymbol())) {
+        if (board.dropPiece(col, currentPlayer.getSymbol())) {
+            if (gameLogic.checkLastMoveWin()) {
+                stopPondering();
                 String winner = currentPlayer.getName();
                 
                 // 1. Update total wins (player_scores.txt)
@@ -65,6 +87,7 @@ public class Game {
                 return true;
             }
             currentPlayer = (currentPlayer == players.get(0)) ? players.get(1) : players.get(0);
+            startPondering();
         } else {
             System.out.println("Invalid move! Column is full or out of range. Try again.");
         }
@@ -80,16 +103,17 @@ public class Game {
     }
 
     public void resetGame() {
-        this.board = new Board(6, 7);
-        this.gameLogic = new GameLogic(board);
+        stopPondering();
+        board.clear(); // Same board and logic, so views holding them stay valid
         currentPlayer = players.get(0);
     }
 
-    public void saveGameText() {
+    public void saveGame() {
         FileManager.GameData gameData = new FileManager.GameData();
         gameData.gamesPlayed = this.gamesPlayed;
         gameData.currentPlayerName = this.currentPlayer.getName();
         gameData.board = this.board.getGrid();
+        gameData.winLength = this.winLength;
         
         for (Player p : players) {
             FileManager.GameData.PlayerInfo playerInfo = new FileManager.GameData.PlayerInfo();
@@ -100,18 +124,21 @@ public class Game {
             gameData.players.add(playerInfo);
         }
         
-        FileManager.saveGameText(gameData);
+        FileManager.saveGame(gameData);
     }
 
-    public static Game loadGameText(int saveIndex, Scanner scanner) {
-        FileManager.GameData gameData = FileManager.loadGameText(saveIndex);
+    public static Game loadGame(int saveIndex, Scanner scanner) {
+        FileManager.GameData gameData = FileManager.loadGame(saveIndex);
         if (gameData == null) return null;
         
         boolean p2IsAI = gameData.players.get(1).type.equals("AIPlayer");
         Game g = new Game(gameData.players.get(0).name, 
                           gameData.players.get(1).name, 
                           scanner, 
-                          p2IsAI);
+                          p2IsAI,
+                          gameData.board.length,
+                          gameData.board[0].length,
+                          gameData.winLength);
         
         g.gamesPlayed = gameData.gamesPlayed;
         g.historyCount = FileManager.getHistoryCount(); 
@@ -120,11 +147,7 @@ public class Game {
             g.scores.put(playerInfo.name, playerInfo.score);
         }
         
-        for (int i = 0; i < 6; i++) {
-            for (int j = 0; j < 7; j++) {
-                g.board.getGrid()[i][j] = gameData.board[i][j];
-            }
-        }
+        g.board.loadGrid(gameData.board);
         
         g.currentPlayer = gameData.currentPlayerName.equals(g.players.get(0).getName()) 
                 ? g.players.get(0) : g.players.get(1);
@@ -132,11 +155,28 @@ public class Game {
         return g;
     }
 
+    // Lets an AI player search ahead while the other player is deciding
+    public void startPondering() {
+        for (Player p : players) {
+            if (p != currentPlayer && p instanceof AIPlayer) ((AIPlayer) p).startPondering(board);
+        }
+    }
+
+    public void stopPondering() {
+        for (Player p : players) {
+            if (p instanceof AIPlayer) ((AIPlayer) p).stopPondering();
+        }
+    }
+
     public Board getBoard() { return board; }
+    // Immutable copy of the current position, safe to read from any thread
+    public Position getPosition() { return board.snapshot(); }
     public ArrayList<Player> getPlayers() { return players; }
     public int getGamesPlayed() { return gamesPlayed; }
     public int getPlayerWins(String name) { return scores.getOrDefault(name, 0); }
     public int getHistoryCount() { return historyCount; }
+    public int getWinLength() { return winLength; }
+    public boolean isExitRequested() { return exitRequested; }
     
     // =======================================================
     // GUI HELPER METHODS (Needed for JavaFX to function)
@@ -169,4 +209,4 @@ public class Game {
             players.get(1).getName());
         gamesPlayed++;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
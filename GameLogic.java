@@ -1,57 +1,165 @@
 package connectfour;
 
 public class GameLogic {
+    public static final int DEFAULT_WIN_LENGTH = 4;
+
     private Board board;
-    
+    private int winLength;
+    private RunLengthTracker runs; // Created on first use when the bitboard checks don't apply
+    private long runsChanges;      // Board change count the run counters reflect
+
     public GameLogic(Board board) {
+        this(board, DEFAULT_WIN_LENGTH);
+    }
+
+    // Connect-K: a line of winLength discs wins
+    public GameLogic(Board board, int winLength) {
+        if (winLength < 1) {
+            throw new IllegalArgumentException("Line length must be positive: " + winLength);
+        }
         this.board = board;
+        this.winLength = winLength;
     }
-    
+
     public boolean checkWin(char symbol) {
-        return checkHorizontal(symbol) || checkVertical(symbol) || checkDiagonal(symbol);
+        if (usesBitboard()) return isWin(board.getBits(symbol), board.getRows());
+        return runs().hasWon(symbol);
     }
-    
-    private boolean checkHorizontal(char symbol) {
-        for (int row = 0; row < board.getRows(); row++) {
-            for (int col = 0; col <= board.getCols() - 4; col++) {
-                if (checkLine(symbol, row, col, 0, 1)) return true;
-            }
+
+    /**
+     * Checks only the four lines through the disc at (row, col). When that disc
+     * is the last one placed, these are the only lines that can have changed.
+     */
+    public boolean checkWinAt(int row, int col) {
+        char symbol = board.getCell(row, col);
+        if (symbol == ' ') return false;
+
+        return countLine(symbol, row, col, 0, 1) >= winLength     // Horizontal
+            || countLine(symbol, row, col, 1, 0) >= winLength     // Vertical
+            || countLine(symbol, row, col, 1, 1) >= winLength     // Down-Right Diagonal (\)
+            || countLine(symbol, row, col, 1, -1) >= winLength;   // Down-Left Diagonal (/)
+    }
+
+    public boolean checkLastMoveWin() {
+        if (board.getMoveCount() == 0) return false;
+        int row = board.getLastRow();
+        int col = board.getLastCol();
+        if (usesBitboard()) return checkWinAt(row, col);
+
+        // After a rebuild the counters replay discs column by column, so once
+        // moves are undone their last disc need not be the board's last move
+        RunLengthTracker tracked = runs();
+        if (tracked.getLastRow() == row && tracked.getLastCol() == col) return tracked.lastMoveWon();
+        return checkWinAt(row, col);
+    }
+
+    public boolean isGameOver() {
+        return board.isFull() || checkWin('X') || checkWin('O');
+    }
+
+    private int countLine(char symbol, int row, int col, int rowDelta, int colDelta) {
+        return 1 + countDirection(symbol, row, col, rowDelta, colDelta)
+                 + countDirection(symbol, row, col, -rowDelta, -colDelta);
+    }
+
+    private int countDirection(char symbol, int row, int col, int rowDelta, int colDelta) {
+        int count = 0;
+        int r = row + rowDelta;
+        int c = col + colDelta;
+        while (count < winLength - 1 && board.getCell(r, c) == symbol) {
+            count++;
+            r += rowDelta;
+            c += colDelta;
         }
-        return false;
+        return count;
     }
-    
-    private boolean checkVertical(char symbol) {
-        for (int col = 0; col < board.getCols(); col++) {
-            for (int row = 0; row <= board.getRows() - 4; row++) {
-                if (checkLine(symbol, row, col, 1, 0)) return true;
-            }
+
+    public int getWinLength() { return winLength; }
+
+    // Classic four in a row on a bitboard is checked with shifts; anything else uses run counters
+    private boolean usesBitboard() {
+        return winLength == DEFAULT_WIN_LENGTH && board.hasBitboard();
+    }
+
+    /**
+     * Brings the run counters up to date with the board. A single drop or
+     * undo since the last check is applied incrementally, so checking costs
+     * O(1) per move; anything else (a cleared or reloaded board, or several
+     * changes at once) is rebuilt from the discs on the board.
+     */
+    private RunLengthTracker runs() {
+        if (runs == null) {
+            runs = new RunLengthTracker(board.getRows(), board.getCols(), winLength);
+            rebuildRuns();
         }
-        return false;
-    }
-    
-    private boolean checkDiagonal(char symbol) {
-        // Down-Right Diagonal (/)
-        for (int row = 0; row <= board.getRows() - 4; row++) {
-            for (int col = 0; col <= board.getCols() - 4; col++) {
-                if (checkLine(symbol, row, col, 1, 1)) return true;
-            }
+        long changes = board.getChangeCount();
+        if (changes == runsChanges) return runs;
+
+        int moves = board.getMoveCount();
+        int tracked = runs.getMoveCount();
+        if (changes == runsChanges + 1 && moves == tracked + 1) {
+            int row = board.getLastRow();
+            int col = board.getLastCol();
+            runs.drop(row, col, board.getCell(row, col));
+        } else if (changes == runsChanges + 1 && moves == tracked - 1
+                   && board.getCell(runs.getLastRow(), runs.getLastCol()) == ' ') {
+            runs.undo(); // Only if it is the disc the board took back
+        } else {
+            rebuildRuns();
         }
-        
-        // Down-Left Diagonal (\)
-        for (int row = 0; row <= board.getRows() - 4; row++) {
-            for (int col = 3; col < board.getCols(); col++) {
-                if (checkLine(symbol, row, col, 1, -1)) return true;
+        runsChanges = changes;
+        return runs;
+    }
+
+    private void rebuildRuns() {
+        runs.clear();
+        runsChanges = board.getChangeCount();
+        int lastRow = board.getLastRow();
+        int lastCol = board.getLastCol();
+        for (int col = 0; col < board.getCols(); col++) {
+            for (int height = 0; height < board.getHeight(col); height++) {
+                int row = board.getRows() - 1 - height;
+                if (row != lastRow || col != lastCol) runs.drop(row, col, board.getCell(row, col));
             }
         }
-        return false;
+        // Added last so lastMoveWon() refers to the board's last move
+        if (lastCol >= 0) runs.drop(lastRow, lastCol, board.getCell(lastRow, lastCol));
     }
-    
-    private boolean checkLine(char symbol, int startRow, int startCol, int rowDelta, int colDelta) {
-        for (int i = 0; i < 4; i++) {
-            if (board.getCell(startRow + i * rowDelta, startCol + i * colDelta) != symbol) {
-                return false;
-            }
+
+    // --- Bitboard win check ---
+    /**
+     * Checks one player's discs (in the Board bit layout) for four in a row.
+     * Each direction is a fixed shift: 1 is vertical, rows + 1 horizontal,
+     * and rows / rows + 2 the two diagonals.
+     */
+    public static boolean isWin(long bits, int rows) {
+        return hasFour(bits, 1) || hasFour(bits, rows + 1)
+            || hasFour(bits, rows) || hasFour(bits, rows + 2);
+    }
+
+    /**
+     * Returns the empty cells (within boardMask) where one more disc would
+     * give `position` four in a row, whether or not they are playable yet.
+     */
+    public static long winningPositions(long position, long mask, long boardMask, int rows) {
+        // Vertical
+        long r = (position << 1) & (position << 2) & (position << 3);
+
+        // Horizontal and both diagonals
+        for (int shift = rows; shift <= rows + 2 && 3 * shift < Long.SIZE; shift++) {
+            long p = (position << shift) & (position << (2 * shift));
+            r |= p & (position << (3 * shift));
+            r |= p & (position >>> shift);
+            p = (position >>> shift) & (position >>> (2 * shift));
+            r |= p & (position << shift);
+            r |= p & (position >>> (3 * shift));
         }
-        return true;
+        return r & (boardMask ^ mask);
+    }
+
+    private static boolean hasFour(long bits, int shift) {
+        if (3 * shift >= Long.SIZE) return false; // Line cannot fit in the board
+        long pairs = bits & (bits >>> shift);
+        return (pairs & (pairs >>> (2 * shift))) != 0;
     }
-}
\ No newline at end of file
+}
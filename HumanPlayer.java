@@ -13,7 +13,8 @@ public class HumanPlayer extends Player {
     @Override
     public int getNextMove(Board board) {
         while (true) {
-            System.out.print(name + " (" + symbol + "), enter column (0-6) or 'save' or 'exit': ");
+            int lastCol = board.getCols() - 1;
+            System.out.print(name + " (" + symbol + "), enter column (0-" + lastCol + ") or 'save' or 'exit': ");
             String input = scanner.nextLine().trim();
             
             if (input.equalsIgnoreCase("save")) {
@@ -25,7 +26,7 @@ public class HumanPlayer extends Player {
             try {
                 return Integer.parseInt(input);
             } catch (NumberFormatException e) {
-                System.out.println("Invalid input! Please enter a number (0-6) or 'save'/'exit'.");
+                System.out.println("Invalid input! Please enter a number (0-" + lastCol + ") or 'save'/'exit'.");
             }
         }
     }
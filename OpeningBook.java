@@ -0,0 +1,182 @@
+package connectfour;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Read-only opening book backed by a memory-mapped file, so opening a book
+ * costs one mmap call no matter how large it is.
+ *
+ * File layout (big-endian):
+ *   header  int magic, short version, byte rows, byte cols, int count, int reserved
+ *   records count x { long key, short score, byte move, byte depth }, sorted by key
+ *
+ * A depth of 255 marks a solved position whose score is the Solver's exact
+ * score rather than a search score.
+ *
+ * Keys are the bitboard key (side to move + mask). A position and its mirror
+ * image share one record stored under the smaller of the two keys, which
+ * halves the file; moves are mirrored back on lookup.
+ */
+public class OpeningBook {
+    public static final String BOOK_FILE = "opening_book.bin";
+
+    private static final int MAGIC = 0x43344246; // "C4BF"
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 12;
+
+    private static OpeningBook defaultBook;
+    private static boolean defaultLoaded;
+
+    private final MappedByteBuffer buffer;
+    private final int rows;
+    private final int cols;
+    private final int count;
+
+    private OpeningBook(MappedByteBuffer buffer, int rows, int cols, int count) {
+        this.buffer = buffer;
+        this.rows = rows;
+        this.cols = cols;
+        this.count = count;
+    }
+
+    /**
+     * Maps a book file. Returns null if the file is missing or not a book.
+     */
+    public static OpeningBook open(String path) {
+        if (!new File(path).exists()) return null;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC
+                    || buffer.getShort(4) != VERSION) {
+                System.out.println("Opening Book Error: " + path + " is not a valid book file.");
+                return null;
+            }
+            int count = buffer.getInt(8);
+            if (buffer.capacity() < HEADER_BYTES + (long) count * RECORD_BYTES) {
+                System.out.println("Opening Book Error: " + path + " is truncated.");
+                return null;
+            }
+            return new OpeningBook(buffer, buffer.get(6), buffer.get(7), count);
+        } catch (IOException e) {
+            System.out.println("Opening Book Error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** The book in BOOK_FILE, mapped on first use (null if there is none). */
+    public static synchronized OpeningBook getDefault() {
+        if (!defaultLoaded) {
+            defaultBook = open(BOOK_FILE);
+            defaultLoaded = true;
+        }
+        return defaultBook;
+    }
+
+    /**
+     * Returns the book move for the player with the given symbol to move, or
+     * -1 if the position is not in the book or the board size differs.
+     */
+    public int lookup(Board board, char symbol) {
+        if (board.getRows() != rows || board.getCols() != cols) return -1;
+
+        long current = board.getBits(symbol);
+        long mask = board.getMask();
+        long key = current + mask;
+        long mirroredKey = mirror(current, rows, cols) + mirror(mask, rows, cols);
+
+        int record = find(Math.min(key, mirroredKey));
+        if (record < 0) return -1;
+
+        int move = buffer.get(HEADER_BYTES + record * RECORD_BYTES + 10);
+        return mirroredKey < key ? cols - 1 - move : move;
+    }
+
+    // Binary search over the sorted records; returns the record index or -1
+    private int find(long key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = buffer.getLong(HEADER_BYTES + mid * RECORD_BYTES);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public int size() { return count; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+
+    // --- Writing (used by OpeningBookGenerator) ---
+    /**
+     * Writes a book file. Each value packs { score (int), move, depth } as
+     * produced by entry(); the map must iterate in ascending key order.
+     */
+    public static void write(String path, int rows, int cols, Map<Long, Long> entries) throws IOException {
+        try (DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(path)))) {
+            dos.writeInt(MAGIC);
+            dos.writeShort(VERSION);
+            dos.writeByte(rows);
+            dos.writeByte(cols);
+            dos.writeInt(entries.size());
+            dos.writeInt(0);
+
+            for (Map.Entry<Long, Long> entry : entries.entrySet()) {
+                long value = entry.getValue();
+                dos.writeLong(entry.getKey());
+                dos.writeShort(toBookScore((int) (value >>> 16)));
+                dos.writeByte((int) (value >>> 8) & 0xFF);
+                dos.writeByte((int) value & 0xFF);
+            }
+        }
+    }
+
+    static long entry(int score, int move, int depth) {
+        return ((long) score << 16) | ((move & 0xFF) << 8) | (depth & 0xFF);
+    }
+
+    /**
+     * Canonical key and move for a searched position: the smaller of the key
+     * and its mirror image, with the move mirrored to match. Returned as
+     * { key, move }.
+     */
+    static long[] canonical(long current, long mask, int move, int rows, int cols) {
+        long key = current + mask;
+        long mirroredKey = mirror(current, rows, cols) + mirror(mask, rows, cols);
+        return mirroredKey < key ? new long[] { mirroredKey, cols - 1 - move }
+                                 : new long[] { key, move };
+    }
+
+    // Search scores do not fit a short; wins keep their distance, the rest are clamped
+    private static short toBookScore(int score) {
+        if (score > SearchEngine.WIN_THRESHOLD) return (short) (Short.MAX_VALUE - (SearchEngine.WIN_SCORE - score));
+        if (score < -SearchEngine.WIN_THRESHOLD) return (short) (Short.MIN_VALUE + 1 + (SearchEngine.WIN_SCORE + score));
+        return (short) Math.max(-30000, Math.min(30000, score));
+    }
+
+    // Reverses the column order of a bitboard
+    static long mirror(long bits, int rows, int cols) {
+        int height = rows + 1;
+        long columnMask = height == Long.SIZE ? -1L : (1L << height) - 1;
+        long result = 0L;
+        for (int col = 0; col < cols; col++) {
+            long column = (bits >>> (col * height)) & columnMask;
+            result |= column << ((cols - 1 - col) * height);
+        }
+        return result;
+    }
+}
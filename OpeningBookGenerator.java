@@ -0,0 +1,110 @@
+package connectfour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Offline tool that searches every position of the first N plies and writes
+ * the best moves to an opening book file. Positions are searched in parallel,
+ * one engine per thread. With "exact" in place of a depth every position is
+ * solved with the perfect-play Solver instead (much slower, but the book
+ * then never misplays).
+ *
+ * Usage: OpeningBookGenerator [plies] [depth | exact] [output file]
+ */
+public class OpeningBookGenerator {
+    private static final int ROWS = 6;
+    private static final int COLS = 7;
+    private static final int DEFAULT_PLIES = 6;
+    private static final int DEFAULT_DEPTH = 12;
+    private static final int EXACT_DEPTH = 0xFF; // Depth recorded for solved positions
+    private static final int SOLVER_TABLE_MB = 64;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int plies = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PLIES;
+        boolean exact = args.length > 1 && args[1].equalsIgnoreCase("exact");
+        int depth = args.length > 1 && !exact ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        String path = args.length > 2 ? args[2] : OpeningBook.BOOK_FILE;
+
+        List<Board> positions = new ArrayList<>();
+        collect(new Board(ROWS, COLS), plies, new HashSet<>(), positions);
+        System.out.println((exact ? "Solving " : "Searching ") + positions.size() + " positions"
+            + (exact ? "..." : " to depth " + depth + "..."));
+
+        long start = System.currentTimeMillis();
+        Map<Long, Long> entries = search(positions, exact ? EXACT_DEPTH : depth);
+        OpeningBook.write(path, ROWS, COLS, entries);
+
+        System.out.println("Wrote " + entries.size() + " positions to " + path + " in "
+            + (System.currentTimeMillis() - start) / 1000 + "s");
+    }
+
+    // Collects every unfinished position with fewer than `plies` discs, one per mirror pair
+    private static void collect(Board board, int plies, Set<Long> seen, List<Board> positions) {
+        if (board.getMoveCount() >= plies) return;
+
+        char toMove = board.getMoveCount() % 2 == 0 ? 'X' : 'O';
+        long[] key = OpeningBook.canonical(board.getBits(toMove), board.getMask(), 0, ROWS, COLS);
+        if (!seen.add(key[0])) return;
+        positions.add(board);
+
+        for (int col = 0; col < COLS; col++) {
+            Board next = board.copy();
+            if (next.dropPiece(col, toMove) && !new GameLogic(next).checkLastMoveWin()) {
+                collect(next, plies, seen, positions);
+            }
+        }
+    }
+
+    private static Map<Long, Long> search(List<Board> positions, int depth) throws InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ThreadLocal<SearchEngine> engines = ThreadLocal.withInitial(SearchEngine::new);
+        ThreadLocal<Solver> solvers = ThreadLocal.withInitial(() -> new Solver(SOLVER_TABLE_MB));
+
+        List<Future<long[]>> results = new ArrayList<>();
+        for (Board board : positions) {
+            results.add(pool.submit(() -> {
+                char toMove = board.getMoveCount() % 2 == 0 ? 'X' : 'O';
+                int move;
+                int score;
+                int searched;
+                if (depth == EXACT_DEPTH) {
+                    Solver solver = solvers.get();
+                    move = solver.findBestMove(board, toMove);
+                    score = solver.solve(board, toMove).score;
+                    searched = EXACT_DEPTH;
+                } else {
+                    SearchEngine engine = engines.get();
+                    move = engine.findBestMove(board, toMove, depth);
+                    score = engine.getLastScore();
+                    searched = engine.getCompletedDepth();
+                }
+                long[] key = OpeningBook.canonical(board.getBits(toMove), board.getMask(), move, ROWS, COLS);
+                return new long[] { key[0], OpeningBook.entry(score, (int) key[1], searched) };
+            }));
+        }
+
+        Map<Long, Long> entries = new TreeMap<>();
+        try {
+            for (Future<long[]> result : results) {
+                long[] entry = result.get();
+                entries.put(entry[0], entry[1]);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Book search failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,270 @@
+package connectfour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Move-path enumeration ("perft"): counts every legal sequence of exactly
+ * `depth` moves from a position, using only the public Board and GameLogic
+ * API. A move that wins ends the game, so nothing is counted below it. Each
+ * thread plays and takes back moves on a single board, so the walk itself
+ * allocates nothing.
+ *
+ * The counts are fixed for a given position, which makes perft both a
+ * correctness check for any new Board or GameLogic representation and a raw
+ * throughput benchmark for it. --verify checks the counts, and also compares
+ * GameLogic's win checks with a plain line scan over random Connect-K games.
+ *
+ * Usage: Perft [max depth] [threads]
+ *        Perft --verify [max depth] [threads]
+ */
+public class Perft {
+    // Counts from the empty 6x7 board for depths 0, 1, 2, ...
+    public static final long[] STANDARD_COUNTS = {
+        1L, 7L, 49L, 343L, 2401L, 16807L, 117649L, 823536L, 5673234L, 39394572L, 268031646L
+    };
+
+    // Below this depth the parallel version stops splitting into subtasks
+    private static final int SPLIT_DEPTH = 6;
+    private static final int VERIFY_DEPTH = 8;
+
+    // Other positions for --verify: rows, cols and the columns played so far (X first)
+    private static final String[][] VERIFY_POSITIONS = {
+        { "6", "7", "3344" },     // Mid-game
+        { "5", "4", "" },         // Taller than wide
+        { "4", "5", "22" },       // Wider than tall
+        { "10", "7", "333" },     // No bitboard: (10 + 1) * 7 > 64
+    };
+
+    // Random games for --verify's win checks: rows, cols and line length
+    private static final int[][] WIN_CHECK_BOARDS = {
+        { 6, 7, 4 }, { 6, 7, 3 }, { 6, 7, 5 }, { 5, 9, 2 }, { 4, 4, 1 }, { 4, 5, 6 },
+        { 10, 7, 4 }, { 10, 7, 5 }, { 12, 12, 6 }, { 20, 8, 3 }, // No bitboard
+    };
+    private static final int WIN_CHECK_GAMES = 200;
+
+    /** Counts on the given board in place; it is left as it was passed in. */
+    public static long perft(Board board, char symbol, int depth) {
+        return perft(board, new GameLogic(board), symbol, depth);
+    }
+
+    private static long perft(Board board, GameLogic logic, char symbol, int depth) {
+        if (depth == 0) return 1;
+
+        char next = symbol == 'X' ? 'O' : 'X';
+        long count = 0;
+        for (int col = 0; col < board.getCols(); col++) {
+            if (!board.canPlay(col)) continue;
+            if (depth == 1) {
+                count++;
+                continue;
+            }
+            board.dropPiece(col, symbol);
+            if (!logic.checkLastMoveWin()) {
+                count += perft(board, logic, next, depth - 1);
+            }
+            board.undo();
+        }
+        return count;
+    }
+
+    /** Same count as perft(), with subtrees spread over a fork-join pool. */
+    public static long perft(Board board, char symbol, int depth, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new PerftTask(board, symbol, depth));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final char symbol;
+        private final int depth;
+
+        PerftTask(Board board, char symbol, int depth) {
+            this.board = board;
+            this.symbol = symbol;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth < SPLIT_DEPTH) return perft(board, symbol, depth); // The task owns its board
+
+            char next = symbol == 'X' ? 'O' : 'X';
+            List<PerftTask> subtasks = new ArrayList<>();
+            for (int col = 0; col < board.getCols(); col++) {
+                if (!board.canPlay(col)) continue;
+                Board child = board.copy();
+                child.dropPiece(col, symbol);
+                if (!new GameLogic(child).checkLastMoveWin()) {
+                    subtasks.add(new PerftTask(child, next, depth - 1));
+                }
+            }
+            long count = 0;
+            for (PerftTask task : invokeAll(subtasks)) {
+                count += task.join();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Checks the counts rather than timing them. The empty 6x7 board must
+     * match STANDARD_COUNTS both single-threaded and on the fork-join pool,
+     * and on VERIFY_POSITIONS the two must agree. Then the win checks are
+     * compared with a line scan (see verifyWinChecks). Prints every mismatch
+     * and returns false if there was any.
+     */
+    public static boolean verify(int maxDepth, int threads) {
+        int failures = 0;
+        for (int depth = 0; depth <= maxDepth; depth++) {
+            long expected = depth < STANDARD_COUNTS.length ? STANDARD_COUNTS[depth] : -1;
+            long single = perft(new Board(6, 7), 'X', depth);
+            long parallel = perft(new Board(6, 7), 'X', depth, threads);
+            if ((expected >= 0 && single != expected) || parallel != single) {
+                System.out.println("MISMATCH 6x7 depth " + depth + ": expected " + expected
+                    + ", single " + single + ", fork-join " + parallel);
+                failures++;
+            }
+        }
+
+        for (String[] spec : VERIFY_POSITIONS) {
+            Board board = new Board(Integer.parseInt(spec[0]), Integer.parseInt(spec[1]));
+            for (char col : spec[2].toCharArray()) {
+                board.dropPiece(col - '0', board.getMoveCount() % 2 == 0 ? 'X' : 'O');
+            }
+            char symbol = board.getMoveCount() % 2 == 0 ? 'X' : 'O';
+            for (int depth = 0; depth <= maxDepth; depth++) {
+                long single = perft(board, symbol, depth);
+                long parallel = perft(board.copy(), symbol, depth, threads);
+                if (parallel != single) {
+                    System.out.println("MISMATCH " + spec[0] + "x" + spec[1] + " after \"" + spec[2]
+                        + "\" depth " + depth + ": single " + single + ", fork-join " + parallel);
+                    failures++;
+                }
+            }
+        }
+
+        failures += verifyWinChecks(new Random(1)); // Fixed seed, so a failure can be replayed
+
+        if (failures == 0) {
+            System.out.println("Perft verified to depth " + maxDepth + " (" + threads + " threads); win checks agree over "
+                + WIN_CHECK_BOARDS.length * WIN_CHECK_GAMES + " random games");
+        } else {
+            System.out.println(failures + " mismatches");
+        }
+        return failures == 0;
+    }
+
+    /**
+     * Plays random drops and undos on each of WIN_CHECK_BOARDS and compares
+     * checkWin() for both players and checkLastMoveWin() with a scan of every
+     * line on the board. Usually this is after each step, which exercises the
+     * run counters' incremental drop and undo. Now and then several steps
+     * pass between checks, so the counters are rebuilt instead. Games go on
+     * past a win. Returns the number of mismatches.
+     */
+    private static int verifyWinChecks(Random random) {
+        int failures = 0;
+        for (int[] spec : WIN_CHECK_BOARDS) {
+            int rows = spec[0];
+            int cols = spec[1];
+            int winLength = spec[2];
+            for (int game = 0; game < WIN_CHECK_GAMES; game++) {
+                Board board = new Board(rows, cols);
+                GameLogic logic = new GameLogic(board, winLength);
+                for (int step = 0; step < 3 * rows * cols; step++) {
+                    if (board.getMoveCount() > 0 && (board.isFull() || random.nextInt(3) == 0)) {
+                        board.undo();
+                    } else {
+                        int col = random.nextInt(cols);
+                        while (!board.canPlay(col)) col = (col + 1) % cols;
+                        board.dropPiece(col, board.getMoveCount() % 2 == 0 ? 'X' : 'O');
+                    }
+                    if (random.nextInt(4) == 0) continue;
+
+                    boolean x = logic.checkWin('X');
+                    boolean o = logic.checkWin('O');
+                    boolean last = logic.checkLastMoveWin();
+                    boolean xScanned = scanWin(board, 'X', winLength);
+                    boolean oScanned = scanWin(board, 'O', winLength);
+                    boolean lastScanned = board.getMoveCount() > 0
+                        && scanWinThrough(board, board.getLastRow(), board.getLastCol(), winLength);
+                    if (x != xScanned || o != oScanned || last != lastScanned) {
+                        System.out.println("MISMATCH " + rows + "x" + cols + " K=" + winLength + " game " + game
+                            + " step " + step + ": X/O/last move " + x + "/" + o + "/" + last
+                            + ", line scan " + xScanned + "/" + oScanned + "/" + lastScanned);
+                        failures++;
+                    }
+                }
+            }
+        }
+        return failures;
+    }
+
+    // --- Line scans for verifyWinChecks, using only Board.getCell ---
+    private static final int[][] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+
+    private static boolean scanWin(Board board, char symbol, int winLength) {
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                for (int[] d : DIRECTIONS) {
+                    if (lineOf(board, symbol, row, col, d[0], d[1], winLength)) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean scanWinThrough(Board board, int row, int col, int winLength) {
+        char symbol = board.getCell(row, col);
+        for (int[] d : DIRECTIONS) {
+            for (int back = 0; back < winLength; back++) {
+                if (lineOf(board, symbol, row - back * d[0], col - back * d[1], d[0], d[1], winLength)) return true;
+            }
+        }
+        return false;
+    }
+
+    // True if winLength cells from (row, col) in direction (dr, dc) all hold symbol
+    private static boolean lineOf(Board board, char symbol, int row, int col, int dr, int dc, int winLength) {
+        for (int i = 0; i < winLength; i++) {
+            if (board.getCell(row + i * dr, col + i * dc) != symbol) return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--verify")) {
+            int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : VERIFY_DEPTH;
+            // At least two threads so the fork-join split is exercised even on one core
+            int threads = args.length > 2 ? Integer.parseInt(args[2])
+                                          : Math.max(2, Runtime.getRuntime().availableProcessors());
+            System.exit(verify(maxDepth, threads) ? 0 : 1);
+        }
+
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%6s %14s %10s %14s %8s%n", "depth", "count", "time(ms)", "nodes/s", "check");
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long start = System.nanoTime();
+            long count = threads > 1 ? perft(new Board(6, 7), 'X', depth, threads)
+                                     : perft(new Board(6, 7), 'X', depth);
+            long nanos = Math.max(1, System.nanoTime() - start);
+
+            String check = depth < STANDARD_COUNTS.length
+                ? (count == STANDARD_COUNTS[depth] ? "OK" : "MISMATCH") : "-";
+            System.out.printf("%6d %14d %10.1f %14d %8s%n", depth, count, nanos / 1e6,
+                count * 1_000_000_000L / nanos, check);
+        }
+    }
+}
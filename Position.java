@@ -0,0 +1,128 @@
+package connectfour;
+
+/**
+ * Immutable snapshot of a Board, taken with Board.snapshot(). On a bitboard
+ * board it is just the two players' discs as longs plus the move count and
+ * last column, so it is cheap to create and can be handed to other threads
+ * (searches, spectators, persistence) without copying a grid or locking:
+ * the board can keep changing and the snapshot never does.
+ *
+ * Wide boards have no bitboard; their snapshot keeps private copies of the
+ * per-column discs instead.
+ */
+public final class Position {
+    private final int rows;
+    private final int cols;
+    private final long xBits;
+    private final long oBits;
+    private final int moveCount;
+    private final int lastCol;
+
+    // Wide boards only (null on bitboard boards): bit h of a column is set when the disc at height h is X
+    private final long[][] columnBits;
+    private final int[] heights;
+
+    Position(int rows, int cols, long xBits, long oBits, int moveCount, int lastCol,
+             long[][] columnBits, int[] heights) {
+        this.rows = rows;
+        this.cols = cols;
+        this.xBits = xBits;
+        this.oBits = oBits;
+        this.moveCount = moveCount;
+        this.lastCol = lastCol;
+        this.columnBits = columnBits;
+        this.heights = heights;
+    }
+
+    /**
+     * Returns a new board holding this position. The snapshot has no move
+     * order, so undo() on the new board takes discs back column by column,
+     * apart from the last move, which is still undone first.
+     */
+    public Board toBoard() {
+        Board board = new Board(rows, cols);
+        for (int col = 0; col < cols; col++) {
+            int top = col == lastCol ? getHeight(col) - 1 : getHeight(col);
+            for (int height = 0; height < top; height++) {
+                board.dropPiece(col, cellAt(col, height));
+            }
+        }
+        if (lastCol >= 0) board.dropPiece(lastCol, cellAt(lastCol, getHeight(lastCol) - 1));
+        return board;
+    }
+
+    public char getCell(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return ' ';
+        }
+        int height = rows - 1 - row;
+        return height < getHeight(col) ? cellAt(col, height) : ' ';
+    }
+
+    // Copy of the position as rows of characters (row 0 is the top)
+    public char[][] getGrid() {
+        char[][] grid = new char[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                grid[i][j] = getCell(i, j);
+            }
+        }
+        return grid;
+    }
+
+    public int getHeight(int col) {
+        if (heights != null) return heights[col];
+        long column = (xBits | oBits) >>> (col * (rows + 1));
+        return Long.bitCount(column & ((1L << rows) - 1));
+    }
+
+    private char cellAt(int col, int height) {
+        if (columnBits != null) {
+            return (columnBits[col][height >> 6] & (1L << (height & 63))) != 0 ? 'X' : 'O';
+        }
+        return (xBits & (1L << (col * (rows + 1) + height))) != 0 ? 'X' : 'O';
+    }
+
+    public boolean canPlay(int col) {
+        return col >= 0 && col < cols && getHeight(col) < rows;
+    }
+
+    public boolean isFull() {
+        return moveCount == rows * cols;
+    }
+
+    // X always moves first
+    public char getSideToMove() {
+        return moveCount % 2 == 0 ? 'X' : 'O';
+    }
+
+    // --- Bitboard access (same layout as Board) ---
+    public boolean hasBitboard() {
+        return columnBits == null;
+    }
+
+    public long getBits(char symbol) {
+        requireBitboard();
+        return symbol == 'X' ? xBits : oBits;
+    }
+
+    public long getMask() {
+        requireBitboard();
+        return xBits | oBits;
+    }
+
+    private void requireBitboard() {
+        if (columnBits != null) {
+            throw new IllegalStateException("No bitboard for a " + rows + "x" + cols + " board");
+        }
+    }
+
+    public int getMoveCount() { return moveCount; }
+
+    // Position of the most recently dropped piece (-1 on an empty board)
+    public int getLastCol() { return lastCol; }
+    public int getLastRow() { return lastCol < 0 ? -1 : rows - getHeight(lastCol); }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+}
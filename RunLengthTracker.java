@@ -0,0 +1,178 @@
+package connectfour;
+
+/**
+ * Incremental line lengths for Connect-K on any board size. For each of the
+ * four directions, the length of every run of one player's discs is stored
+ * at the two ends of the run. A new disc only has to read the run ending next
+ * to it on each side and write the merged length at the new ends, so a drop
+ * costs the same whatever K or the board size.
+ *
+ * Lengths are kept in a hash table keyed by (cell, direction, player), so
+ * memory grows with the number of discs rather than the board area. Every
+ * drop records the values it overwrote, which lets undo() restore them.
+ */
+public class RunLengthTracker {
+    // Row and column steps of the four directions: horizontal, vertical, both diagonals
+    private static final int[] ROW_STEP = { 0, 1, 1, 1 };
+    private static final int[] COL_STEP = { 1, 0, 1, -1 };
+    private static final int WRITES_PER_MOVE = 8; // Two run ends in each direction
+
+    private final int rows;
+    private final int cols;
+    private final int winLength;
+
+    // --- Run ends: open-addressing table of (key + 1) -> run length ---
+    private long[] keys = new long[64];
+    private int[] lengths = new int[64];
+    private int size;
+
+    // --- Undo stack ---
+    private long[] undoKeys = new long[WRITES_PER_MOVE * 16];
+    private int[] undoLengths = new int[WRITES_PER_MOVE * 16];
+    private long[] moveCells = new long[16];
+    private int[] moveRuns = new int[16]; // Longest line made by each move
+    private int moveCount;
+    private final int[] wins = new int[2]; // Moves that completed a line, per player
+
+    public RunLengthTracker(int rows, int cols, int winLength) {
+        if (winLength < 1) {
+            throw new IllegalArgumentException("Line length must be positive: " + winLength);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.winLength = winLength;
+    }
+
+    /**
+     * Records a disc at (row, col) (row 0 is the top) and returns the length
+     * of the longest line through it.
+     */
+    public int drop(int row, int col, char symbol) {
+        int player = symbol == 'X' ? 0 : 1;
+        long cell = (long) row * cols + col;
+        if (moveCount == moveCells.length) growMoves();
+
+        int slot = moveCount * WRITES_PER_MOVE;
+        int longest = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            int dr = ROW_STEP[dir];
+            int dc = COL_STEP[dir];
+            int before = runAt(row - dr, col - dc, dir, player);
+            int after = runAt(row + dr, col + dc, dir, player);
+            int length = before + 1 + after;
+            set(key(row - before * dr, col - before * dc, dir, player), length, slot++);
+            set(key(row + after * dr, col + after * dc, dir, player), length, slot++);
+            longest = Math.max(longest, length);
+        }
+
+        moveCells[moveCount] = cell * 2 + player;
+        moveRuns[moveCount] = longest;
+        moveCount++;
+        if (longest >= winLength) wins[player]++;
+        return longest;
+    }
+
+    /** Takes back the most recent drop. */
+    public void undo() {
+        if (moveCount == 0) return;
+        moveCount--;
+        if (moveRuns[moveCount] >= winLength) wins[(int) (moveCells[moveCount] & 1)]--;
+
+        // Restore in reverse order: a move may write the same run end twice
+        int base = moveCount * WRITES_PER_MOVE;
+        for (int i = base + WRITES_PER_MOVE - 1; i >= base; i--) {
+            put(undoKeys[i], undoLengths[i]);
+        }
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(keys, 0L);
+        size = 0;
+        moveCount = 0;
+        wins[0] = 0;
+        wins[1] = 0;
+    }
+
+    public boolean hasWon(char symbol) {
+        return wins[symbol == 'X' ? 0 : 1] > 0;
+    }
+
+    public boolean lastMoveWon() {
+        return moveCount > 0 && moveRuns[moveCount - 1] >= winLength;
+    }
+
+    public int getMoveCount() { return moveCount; }
+    public int getWinLength() { return winLength; }
+
+    // Cell of the most recent drop (row 0 is the top), or -1 when there is none
+    public int getLastRow() { return moveCount == 0 ? -1 : (int) ((moveCells[moveCount - 1] >> 1) / cols); }
+    public int getLastCol() { return moveCount == 0 ? -1 : (int) ((moveCells[moveCount - 1] >> 1) % cols); }
+
+    // --- Run ends ---
+    private int runAt(int row, int col, int dir, int player) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return 0;
+        return get(key(row, col, dir, player));
+    }
+
+    // Stores a run length, remembering the old value in the given undo slot
+    private void set(long key, int length, int slot) {
+        if (slot >= undoKeys.length) {
+            undoKeys = java.util.Arrays.copyOf(undoKeys, undoKeys.length * 2);
+            undoLengths = java.util.Arrays.copyOf(undoLengths, undoLengths.length * 2);
+        }
+        undoKeys[slot] = key;
+        undoLengths[slot] = get(key);
+        put(key, length);
+    }
+
+    private long key(int row, int col, int dir, int player) {
+        return (((long) row * cols + col) * 4 + dir) * 2 + player;
+    }
+
+    private void growMoves() {
+        moveCells = java.util.Arrays.copyOf(moveCells, moveCells.length * 2);
+        moveRuns = java.util.Arrays.copyOf(moveRuns, moveRuns.length * 2);
+    }
+
+    // --- Hash table (a stored length of 0 means the same as no entry) ---
+    private int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key + 1) return lengths[i];
+        }
+        return 0;
+    }
+
+    private void put(long key, int length) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != 0 && keys[i] != key + 1) i = (i + 1) & mask;
+        if (keys[i] == 0) {
+            if (length == 0) return;
+            keys[i] = key + 1;
+            size++;
+        }
+        lengths[i] = length;
+        if (size * 2 > keys.length) rehash();
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldLengths = lengths;
+        keys = new long[oldKeys.length * 2];
+        lengths = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0) continue;
+            int i = slot(oldKeys[j] - 1, mask);
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            lengths[i] = oldLengths[j];
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package connectfour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Negamax search with alpha-beta pruning and iterative deepening.
+ *
+ * With more than one thread the engine runs Lazy SMP: every SearchWorker
+ * searches the same root position and they cooperate only through the
+ * shared, lock-free transposition table. The calling thread runs the main
+ * worker; helpers run on a pool owned by the engine.
+ *
+ * Engines start with DEFAULT_THREADS (one). Lazy SMP has not yet been shown
+ * to reach a depth sooner on a multi-core machine, and on one core it is
+ * slower, so more threads are opt-in through setThreads(); EngineBenchmark
+ * prints the time-to-depth speedup to check on a given machine.
+ */
+public class SearchEngine {
+    public static final int WIN_SCORE = 1_000_000;
+    public static final int DEFAULT_TABLE_MB = 16;
+    public static final int DEFAULT_THREADS = 1;
+    static final int INFINITY = Integer.MAX_VALUE - 1;
+    static final int WIN_THRESHOLD = WIN_SCORE - 1000;
+
+    private final TranspositionTable table;
+    private SearchWorker[] workers;
+    private ExecutorService helperPool;
+    private volatile boolean stopped;
+    private boolean moveOrdering = true;
+
+    // --- Statistics for the last search ---
+    private long nodes;
+    private long elapsedNanos;
+    private int lastScore;
+    private int completedDepth;
+
+    public SearchEngine() {
+        this(DEFAULT_TABLE_MB);
+    }
+
+    public SearchEngine(int tableMegabytes) {
+        this(tableMegabytes, DEFAULT_THREADS);
+    }
+
+    public SearchEngine(int tableMegabytes, int threads) {
+        this.table = new TranspositionTable(tableMegabytes);
+        setThreads(threads);
+    }
+
+    /**
+     * Searches the position for the player with the given symbol to move to a
+     * fixed depth and returns the best column, or -1 if no column is playable.
+     */
+    public int findBestMove(Board board, char symbol, int depth) {
+        return findBestMove(board, symbol, depth, 0, 0);
+    }
+
+    /**
+     * Iterative deepening: searches depth 1, 2, ... up to maxDepth and stops
+     * early once the time limit (milliseconds) or node limit is used up, where
+     * 0 means no limit. The node limit counts the main thread's nodes. An
+     * interrupt of the calling thread also ends the search, even one that
+     * arrives before it starts. Returns the best move of the deepest
+     * completed depth; depth 1 always completes so a legal move is returned
+     * whenever one exists.
+     */
+    public int findBestMove(Board board, char symbol, int maxDepth,
+                            long timeLimitMillis, long nodeLimit) {
+        return findBestMove(board.snapshot(), symbol, maxDepth, timeLimitMillis, nodeLimit);
+    }
+
+    /**
+     * Same as the Board version, for a snapshot. The caller's board may keep
+     * changing while the search runs, e.g. when pondering.
+     */
+    public synchronized int findBestMove(Position position, char symbol, int maxDepth,
+                                         long timeLimitMillis, long nodeLimit) {
+        long current = position.getBits(symbol);
+        long mask = position.getMask();
+        int moves = position.getMoveCount();
+        for (SearchWorker worker : workers) {
+            worker.setGeometry(position.getRows(), position.getCols());
+        }
+
+        stopped = false;
+        table.newSearch();
+        long start = System.nanoTime();
+        long deadline = timeLimitMillis > 0 ? start + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+
+        List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 1; i < workers.length; i++) {
+            SearchWorker helper = workers[i];
+            helpers.add(helperPool.submit(() ->
+                helper.search(current, mask, moves, maxDepth, Long.MAX_VALUE, Long.MAX_VALUE)));
+        }
+        workers[0].search(current, mask, moves, maxDepth, deadline,
+                          nodeLimit > 0 ? nodeLimit : Long.MAX_VALUE);
+
+        stopped = true;
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+
+        // Use the deepest completed result, preferring the main worker on ties
+        SearchWorker best = workers[0];
+        nodes = 0;
+        for (SearchWorker worker : workers) {
+            nodes += worker.getNodes();
+            if (worker.getCompletedDepth() > best.getCompletedDepth()) best = worker;
+        }
+        completedDepth = best.getCompletedDepth();
+        lastScore = best.getBestScore();
+        return best.getBestCol();
+    }
+
+    /**
+     * Asks a search running on another thread to finish early. The search
+     * still returns a move (depth 1 always completes), so a caller that no
+     * longer wants the result should simply ignore it.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    // --- Threads ---
+    public synchronized void setThreads(int threads) {
+        threads = Math.max(1, threads);
+        if (workers != null && workers.length == threads) return;
+
+        if (helperPool != null) helperPool.shutdown();
+        helperPool = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        workers = new SearchWorker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new SearchWorker(this, table, i);
+            workers[i].setMoveOrdering(moveOrdering);
+        }
+    }
+
+    public synchronized int getThreads() { return workers.length; }
+
+    /**
+     * Turns move ordering (centre-first, table move, killers, history) on or
+     * off. Only useful for measuring how much it prunes; it is on by default.
+     */
+    public synchronized void setMoveOrdering(boolean moveOrdering) {
+        this.moveOrdering = moveOrdering;
+        for (SearchWorker worker : workers) {
+            worker.setMoveOrdering(moveOrdering);
+        }
+    }
+
+    // --- Statistics ---
+    public long getNodes() { return nodes; }
+    public TranspositionTable getTable() { return table; }
+    public int getLastScore() { return lastScore; }
+    public int getCompletedDepth() { return completedDepth; }
+    public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+}
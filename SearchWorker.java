@@ -0,0 +1,306 @@
+package connectfour;
+
+/**
+ * The state of one search thread. Workers of the same SearchEngine share
+ * its transposition table and stop flag and nothing else, so the search
+ * loop itself never synchronises (Lazy SMP).
+ *
+ * Positions are held as two longs: the discs of the side to move and the
+ * mask of all discs, so making a move is a couple of bit operations.
+ */
+class SearchWorker {
+    private static final int INFINITY = SearchEngine.INFINITY;
+    private static final int WIN_SCORE = SearchEngine.WIN_SCORE;
+    private static final int WIN_THRESHOLD = SearchEngine.WIN_THRESHOLD;
+
+    private final SearchEngine engine;
+    private final TranspositionTable table;
+    private final int id;
+
+    // --- Board geometry (rebuilt when the board size changes) ---
+    private int rows;
+    private int cols;
+    private int height;          // rows + 1 bits per column
+    private long bottomMask;     // bottom cell of every column
+    private long[] columnMasks;
+    private int[] centerOrder;   // 3, 2, 4, 1, 5, 0, 6 on a seven-column board
+    private ThreatEvaluator evaluator;
+
+    // --- Move ordering ---
+    private boolean moveOrdering = true;
+    private int[][] moveBuffer;  // per-ply move lists, so ordering never allocates
+    private int[][] orderScores;
+    private int[][] killers;     // two quiet moves per ply that caused a cutoff
+    private int[][] history;     // cutoff counts per side and destination bit
+
+    // --- Result of the last search ---
+    private long nodes;
+    private int bestCol;
+    private int bestScore;
+    private int completedDepth;
+
+    // --- Budget for the current search ---
+    private long deadline;
+    private long nodeLimit;
+    private boolean aborted;
+
+    SearchWorker(SearchEngine engine, TranspositionTable table, int id) {
+        this.engine = engine;
+        this.table = table;
+        this.id = id;
+    }
+
+    /**
+     * Iterative deepening from depth 1 up to maxDepth. Worker 0 owns the time
+     * and node budget; the other workers run until the engine stops them.
+     * Odd-numbered helpers search one ply deeper than the main worker and
+     * every helper starts from a different root column, so they fill the
+     * shared table with different parts of the tree.
+     */
+    void search(long current, long mask, int moves, int maxDepth, long deadline, long nodeLimit) {
+        this.nodes = 0;
+        this.aborted = false;
+        this.completedDepth = 0;
+        this.bestScore = 0;
+        this.deadline = deadline;
+        this.nodeLimit = nodeLimit;
+        for (int[] plyKillers : killers) java.util.Arrays.fill(plyKillers, -1);
+        for (int[] sideHistory : history) java.util.Arrays.fill(sideHistory, 0);
+        long opponent = mask ^ current;
+        evaluator.reset((moves & 1) == 0 ? current : opponent, (moves & 1) == 0 ? opponent : current);
+
+        int[] order = new int[cols];
+        int count = 0;
+        for (int i = 0; i < cols; i++) {
+            int col = moveOrdering ? centerOrder[(i + id) % cols] : (i + id) % cols;
+            if (canPlay(mask, col)) order[count++] = col;
+        }
+        bestCol = count > 0 ? order[0] : -1;
+
+        int lastDepth = Math.min(maxDepth, rows * cols - moves);
+        for (int iteration = 1; iteration <= lastDepth; iteration++) {
+            int depth = Math.min(lastDepth, iteration + (id & 1));
+            int iterationCol = -1;
+            int iterationScore = -INFINITY;
+            int alpha = -INFINITY;
+            for (int i = 0; i < count; i++) {
+                int score = scoreMove(current, mask, moves, order[i], depth, alpha, INFINITY, 0);
+                if (aborted) break;
+                if (score > iterationScore) {
+                    iterationScore = score;
+                    iterationCol = order[i];
+                }
+                if (score > alpha) alpha = score;
+            }
+            if (aborted) break;
+
+            bestCol = iterationCol;
+            bestScore = iterationScore;
+            completedDepth = depth;
+
+            // Search this depth's best move first at the next depth
+            moveToFront(order, count, bestCol);
+
+            // A proven win or loss cannot change at greater depth
+            if (Math.abs(bestScore) > WIN_THRESHOLD) break;
+        }
+    }
+
+    private static void moveToFront(int[] order, int count, int col) {
+        for (int i = 0; i < count; i++) {
+            if (order[i] == col) {
+                System.arraycopy(order, 0, order, 1, i);
+                order[0] = col;
+                return;
+            }
+        }
+    }
+
+    // Checked at every node; the clock, stop flag and interrupt are read every 1024 nodes
+    private boolean outOfBudget() {
+        if (id == 0 && completedDepth == 0) return false;
+        if (nodes >= nodeLimit) return true;
+        return (nodes & 1023) == 0 && (engine.isStopped() || System.nanoTime() >= deadline
+                                       || Thread.currentThread().isInterrupted());
+    }
+
+    // Plays col for the side to move and returns the score from that side's view
+    private int scoreMove(long current, long mask, int moves, int col, int depth,
+                          int alpha, int beta, int ply) {
+        long move = (mask + (bottomMask & columnMasks[col])) & columnMasks[col];
+        if (GameLogic.isWin(current | move, rows)) {
+            nodes++;
+            return WIN_SCORE - ply - 1;
+        }
+        // The opponent's discs are mask ^ current both before and after the move
+        int bit = Long.numberOfTrailingZeros(move);
+        evaluator.drop(bit, moves & 1);
+        int score = -negamax(mask ^ current, mask | move, moves + 1, depth - 1, -beta, -alpha, ply + 1);
+        evaluator.undo(bit, moves & 1);
+        return score;
+    }
+
+    private int negamax(long current, long mask, int moves, int depth, int alpha, int beta, int ply) {
+        nodes++;
+        if (aborted || outOfBudget()) {
+            aborted = true;
+            return 0;
+        }
+        if (moves == rows * cols) return 0;
+        if (depth <= 0) return evaluator.evaluate(moves);
+
+        // Positions reached through a different move order reuse earlier results
+        long key = current + mask;
+        long entry = table.probe(key);
+        if (entry != 0 && TranspositionTable.depth(entry) >= depth) {
+            int stored = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT) return stored;
+            if (bound == TranspositionTable.LOWER_BOUND && stored > alpha) alpha = stored;
+            if (bound == TranspositionTable.UPPER_BOUND && stored < beta) beta = stored;
+            if (alpha >= beta) return stored;
+        }
+
+        int ttMove = entry != 0 ? TranspositionTable.move(entry) : -1;
+        int count = orderMoves(mask, moves, ply, ttMove);
+        int[] moveList = moveBuffer[ply];
+
+        int alphaOrig = alpha;
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            int col = moveList[i];
+            int score = scoreMove(current, mask, moves, col, depth, alpha, beta, ply);
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = col;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        recordCutoff(mask, moves, col, depth, ply);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= alphaOrig ? TranspositionTable.UPPER_BOUND
+                  : best >= beta ? TranspositionTable.LOWER_BOUND
+                  : TranspositionTable.EXACT;
+        table.store(key, toTable(best, ply), depth, bound, bestMove);
+        return best;
+    }
+
+    // --- Move ordering ---
+    /**
+     * Fills moveBuffer[ply] with the playable columns, best candidates first:
+     * the transposition-table move, then the two killer moves for this ply,
+     * then by history score, with centre columns first on ties. With ordering
+     * turned off the columns are simply searched left to right.
+     */
+    private int orderMoves(long mask, int moves, int ply, int ttMove) {
+        int[] moveList = moveBuffer[ply];
+        int[] scores = orderScores[ply];
+        int[] sideHistory = history[moves & 1];
+        int count = 0;
+        for (int i = 0; i < cols; i++) {
+            int col = moveOrdering ? centerOrder[i] : i;
+            if (!canPlay(mask, col)) continue;
+            if (!moveOrdering) {
+                moveList[count++] = col;
+                continue;
+            }
+
+            int score;
+            if (col == ttMove) {
+                score = Integer.MAX_VALUE;
+            } else if (col == killers[ply][0]) {
+                score = Integer.MAX_VALUE - 1;
+            } else if (col == killers[ply][1]) {
+                score = Integer.MAX_VALUE - 2;
+            } else {
+                score = sideHistory[moveBit(mask, col)];
+            }
+
+            // Insertion sort: stable, so equal scores keep the centre-first order
+            int j = count++;
+            while (j > 0 && scores[j - 1] < score) {
+                moveList[j] = moveList[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            moveList[j] = col;
+            scores[j] = score;
+        }
+        return count;
+    }
+
+    private void recordCutoff(long mask, int moves, int col, int depth, int ply) {
+        if (!moveOrdering) return;
+        if (killers[ply][0] != col) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = col;
+        }
+        int[] sideHistory = history[moves & 1];
+        int bit = moveBit(mask, col);
+        sideHistory[bit] = Math.min(sideHistory[bit] + depth * depth, Integer.MAX_VALUE / 2);
+    }
+
+    // Bit index of the cell a disc dropped in col would land on
+    private int moveBit(long mask, int col) {
+        return Long.numberOfTrailingZeros((mask + (bottomMask & columnMasks[col])) & columnMasks[col]);
+    }
+
+    void setMoveOrdering(boolean moveOrdering) {
+        this.moveOrdering = moveOrdering;
+    }
+
+    // Win scores count plies from the root; the table stores them relative to the node
+    private static int toTable(int score, int ply) {
+        if (score > WIN_THRESHOLD) return score + ply;
+        if (score < -WIN_THRESHOLD) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_THRESHOLD) return score - ply;
+        if (score < -WIN_THRESHOLD) return score + ply;
+        return score;
+    }
+
+    // --- Geometry helpers ---
+    private boolean canPlay(long mask, int col) {
+        return (mask & (1L << (col * height + rows - 1))) == 0;
+    }
+
+    void setGeometry(int rows, int cols) {
+        if (rows == this.rows && cols == this.cols) return;
+        this.rows = rows;
+        this.cols = cols;
+        this.height = rows + 1;
+        this.columnMasks = new long[cols];
+        this.bottomMask = 0L;
+        for (int col = 0; col < cols; col++) {
+            columnMasks[col] = ((1L << rows) - 1) << (col * height);
+            bottomMask |= 1L << (col * height);
+        }
+        this.evaluator = new ThreatEvaluator(rows, cols);
+
+        this.centerOrder = new int[cols];
+        for (int i = 0; i < cols; i++) {
+            centerOrder[i] = cols / 2 + (1 - 2 * (i % 2)) * (i + 1) / 2;
+        }
+        int plies = rows * cols + 1;
+        this.moveBuffer = new int[plies][cols];
+        this.orderScores = new int[plies][cols];
+        this.killers = new int[plies][2];
+        this.history = new int[2][Long.SIZE];
+    }
+
+    // --- Result of the last search ---
+    long getNodes() { return nodes; }
+    int getBestCol() { return bestCol; }
+    int getBestScore() { return bestScore; }
+    int getCompletedDepth() { return completedDepth; }
+}
@@ -0,0 +1,370 @@
+package connectfour;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Perfect-play solver. Instead of a heuristic score it returns the exact
+ * game-theoretic value of a position: who wins with best play and how many
+ * plies it takes.
+ *
+ * Scores follow the usual convention: a positive score means the side to
+ * move wins, and the larger it is the earlier the win (the number of the
+ * winner's discs still unplayed when the game ends, plus one). The solver
+ * narrows the score range with null-window negamax searches, only ever
+ * generates moves that do not hand the opponent an immediate win, and
+ * remembers bounds in a transposition table.
+ *
+ * Usage: Solver [moves]  (column digits played alternately from an empty 6x7 board)
+ *        Solver --verify
+ */
+public class Solver {
+    public static final int DEFAULT_TABLE_MB = 256;
+
+    // --verify compares with plain negamax on boards small enough to search exhaustively
+    private static final int[][] VERIFY_SIZES = { { 4, 4 }, { 4, 5 }, { 5, 4 } };
+    private static final int VERIFY_PLIES = 4;
+
+    private final TranspositionTable table;
+    private long nodes;
+    private long elapsedNanos;
+
+    // --- Board geometry (rebuilt when the board size changes) ---
+    private int rows;
+    private int cols;
+    private int height;
+    private int cells;
+    private long bottomMask;
+    private long boardMask;
+    private long[] columnMasks;
+    private int[] columnOrder;   // centre columns first
+    private long[][] moveBuffer; // per-ply move lists, so the search never allocates
+    private int[][] scoreBuffer;
+
+    public Solver() {
+        this(DEFAULT_TABLE_MB);
+    }
+
+    public Solver(int tableMegabytes) {
+        this.table = new TranspositionTable(tableMegabytes);
+    }
+
+    public static class Result {
+        public final int score;
+        public final int distance;
+
+        Result(int score, int distance) {
+            this.score = score;
+            this.distance = distance;
+        }
+
+        public boolean isWin() { return score > 0; }
+        public boolean isLoss() { return score < 0; }
+        public boolean isDraw() { return score == 0; }
+
+        @Override
+        public String toString() {
+            String value = isWin() ? "WIN" : isLoss() ? "LOSS" : "DRAW";
+            return value + " in " + distance + " plies (score " + score + ")";
+        }
+    }
+
+    /**
+     * Solves the position for the player with the given symbol to move. The
+     * distance is the number of plies until the decisive disc is played with
+     * perfect play, or until the board is full for a draw.
+     */
+    public Result solve(Board board, char symbol) {
+        setGeometry(board.getRows(), board.getCols());
+        long current = board.getBits(symbol);
+        long mask = board.getMask();
+        int moves = board.getMoveCount();
+
+        long start = System.nanoTime();
+        nodes = 0;
+        Result result;
+        if (GameLogic.isWin(current ^ mask, rows)) {
+            result = new Result(-(cells - moves + 2) / 2, 0); // Opponent has already won
+        } else {
+            int score = solve(current, mask, moves);
+            result = new Result(score, distance(score, moves));
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Returns a move that keeps the best game-theoretic value for the player
+     * with the given symbol to move, or -1 if no column is playable.
+     */
+    public int findBestMove(Board board, char symbol) {
+        setGeometry(board.getRows(), board.getCols());
+        long current = board.getBits(symbol);
+        long mask = board.getMask();
+        int moves = board.getMoveCount();
+
+        long start = System.nanoTime();
+        nodes = 0;
+        int bestCol = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int col : columnOrder) {
+            if ((mask & topMask(col)) != 0) continue;
+            long move = (mask + (bottomMask & columnMasks[col])) & columnMasks[col];
+
+            int score = GameLogic.isWin(current | move, rows) ? (cells + 1 - moves) / 2
+                      : moves + 1 == cells ? 0
+                      : -solve(mask ^ current, mask | move, moves + 1);
+            if (score > bestScore) {
+                bestScore = score;
+                bestCol = col;
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return bestCol;
+    }
+
+    // Narrows [min, max] with null-window searches until the exact score is known
+    private int solve(long current, long mask, int moves) {
+        if (canWinNext(current, mask)) return (cells + 1 - moves) / 2;
+        if (moves == cells) return 0;
+
+        int min = -(cells - moves) / 2;
+        int max = (cells + 1 - moves) / 2;
+        while (min < max) {
+            int med = min + (max - min) / 2;
+            // Probe near zero first: deciding win/draw/loss is the cheapest split
+            if (med <= 0 && min / 2 < med) {
+                med = min / 2;
+            } else if (med >= 0 && max / 2 > med) {
+                med = max / 2;
+            }
+            int r = negamax(current, mask, moves, med, med + 1);
+            if (r <= med) {
+                max = r;
+            } else {
+                min = r;
+            }
+        }
+        return min;
+    }
+
+    // Called only when the side to move cannot win immediately
+    private int negamax(long current, long mask, int moves, int alpha, int beta) {
+        nodes++;
+
+        long next = possibleNonLosingMoves(current, mask);
+        if (next == 0) return -(cells - moves) / 2;  // Every move lets the opponent win
+        if (moves >= cells - 2) return 0;            // Neither side can win any more
+
+        int min = -(cells - 2 - moves) / 2;          // Opponent cannot win on their next move
+        if (alpha < min) {
+            alpha = min;
+            if (alpha >= beta) return alpha;
+        }
+        int max = (cells - 1 - moves) / 2;           // We cannot win on this move
+        if (beta > max) {
+            beta = max;
+            if (alpha >= beta) return beta;
+        }
+
+        long key = current + mask;
+        long entry = table.probe(key);
+        if (entry != 0) {
+            int stored = TranspositionTable.score(entry);
+            if (TranspositionTable.bound(entry) == TranspositionTable.LOWER_BOUND) {
+                if (stored > alpha) {
+                    alpha = stored;
+                    if (alpha >= beta) return alpha;
+                }
+            } else if (stored < beta) {
+                beta = stored;
+                if (alpha >= beta) return beta;
+            }
+        }
+
+        // Order moves by how many new winning cells they create, centre first on ties
+        long[] moveList = moveBuffer[moves];
+        int[] scores = scoreBuffer[moves];
+        int count = 0;
+        for (int col : columnOrder) {
+            long move = next & columnMasks[col];
+            if (move == 0) continue;
+            int score = Long.bitCount(GameLogic.winningPositions(current | move, mask, boardMask, rows));
+            int i = count++;
+            while (i > 0 && scores[i - 1] < score) {
+                moveList[i] = moveList[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            moveList[i] = move;
+            scores[i] = score;
+        }
+
+        for (int i = 0; i < count; i++) {
+            long move = moveList[i];
+            int score = -negamax(mask ^ current, mask | move, moves + 1, -beta, -alpha);
+            if (score >= beta) {
+                table.store(key, score, 0, TranspositionTable.LOWER_BOUND, -1);
+                return score;
+            }
+            if (score > alpha) alpha = score;
+        }
+
+        table.store(key, alpha, 0, TranspositionTable.UPPER_BOUND, -1);
+        return alpha;
+    }
+
+    // --- Bitboard move generation ---
+    private boolean canWinNext(long current, long mask) {
+        long possible = (mask + bottomMask) & boardMask;
+        return (GameLogic.winningPositions(current, mask, boardMask, rows) & possible) != 0;
+    }
+
+    /**
+     * Playable cells that neither leave an immediate opponent win unanswered
+     * nor sit directly below a cell where the opponent would win.
+     */
+    private long possibleNonLosingMoves(long current, long mask) {
+        long possible = (mask + bottomMask) & boardMask;
+        long opponentWins = GameLogic.winningPositions(current ^ mask, mask, boardMask, rows);
+        long forced = possible & opponentWins;
+        if (forced != 0) {
+            if ((forced & (forced - 1)) != 0) return 0; // Two threats cannot both be blocked
+            possible = forced;
+        }
+        return possible & ~(opponentWins >>> 1);
+    }
+
+    // Plies from now until the decisive disc, or until the board is full for a draw
+    private int distance(int score, int moves) {
+        if (score == 0) return cells - moves;
+        // The winner's decisive disc is played when `winMoves` discs are on the board
+        int winMoves = cells + 1 - 2 * Math.abs(score);
+        int winnerParity = score > 0 ? moves & 1 : (moves + 1) & 1;
+        if ((winMoves & 1) != winnerParity) winMoves--;
+        return winMoves - moves + 1;
+    }
+
+    private long topMask(int col) {
+        return 1L << (col * height + rows - 1);
+    }
+
+    private void setGeometry(int rows, int cols) {
+        if (rows == this.rows && cols == this.cols) return;
+        this.rows = rows;
+        this.cols = cols;
+        this.height = rows + 1;
+        this.cells = rows * cols;
+        this.columnMasks = new long[cols];
+        this.columnOrder = new int[cols];
+        this.bottomMask = 0L;
+        for (int col = 0; col < cols; col++) {
+            columnMasks[col] = ((1L << rows) - 1) << (col * height);
+            bottomMask |= 1L << (col * height);
+            // 3, 2, 4, 1, 5, 0, 6 on a seven-column board
+            columnOrder[col] = cols / 2 + (1 - 2 * (col % 2)) * (col + 1) / 2;
+        }
+        this.boardMask = bottomMask * ((1L << rows) - 1);
+        this.moveBuffer = new long[cells + 1][cols];
+        this.scoreBuffer = new int[cells + 1][cols];
+        table.clear();
+    }
+
+    // --- Statistics ---
+    public long getNodes() { return nodes; }
+    public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    // --- Verification ---
+    /**
+     * Checks solve() and findBestMove() on every position up to VERIFY_PLIES
+     * moves from the empty board, for each of VERIFY_SIZES, against a
+     * negamax that knows only the rules: it tries every move through Board
+     * and GameLogic with no pruning, remembering exact scores so that each
+     * position is searched once. Prints every difference and returns false
+     * if there was any.
+     */
+    public static boolean verify() {
+        Solver solver = new Solver(16);
+        int[] counts = new int[2]; // positions, failures
+        for (int[] size : VERIFY_SIZES) {
+            Board board = new Board(size[0], size[1]);
+            verify(solver, board, new GameLogic(board), 'X', VERIFY_PLIES, new HashMap<>(), counts);
+        }
+        System.out.println(counts[1] == 0 ? "Solver verified on " + counts[0] + " positions"
+                                          : counts[1] + " of " + counts[0] + " positions differ");
+        return counts[1] == 0;
+    }
+
+    private static void verify(Solver solver, Board board, GameLogic logic, char symbol, int plies,
+                               Map<Long, Integer> scores, int[] counts) {
+        int expected = bruteForce(board, logic, symbol, scores);
+        int score = solver.solve(board, symbol).score;
+        int col = solver.findBestMove(board, symbol);
+        int moveScore = col < 0 ? expected : scoreAfter(board, logic, col, symbol, scores);
+        counts[0]++;
+        if (score != expected || moveScore != expected) {
+            System.out.println("MISMATCH " + board.getRows() + "x" + board.getCols() + " after "
+                + board.getMoveCount() + " moves: negamax " + expected + ", solve " + score
+                + ", column " + col + " scores " + moveScore);
+            counts[1]++;
+        }
+        if (plies == 0) return;
+
+        char next = symbol == 'X' ? 'O' : 'X';
+        for (int c = 0; c < board.getCols(); c++) {
+            if (!board.canPlay(c)) continue;
+            board.dropPiece(c, symbol);
+            if (!logic.checkLastMoveWin() && !board.isFull()) {
+                verify(solver, board, logic, next, plies - 1, scores, counts);
+            }
+            board.undo();
+        }
+    }
+
+    // Exact score of the side to move; scores is keyed by X's discs (high half) and all discs (low half)
+    private static int bruteForce(Board board, GameLogic logic, char symbol, Map<Long, Integer> scores) {
+        long key = board.getBits('X') << 32 | board.getMask();
+        Integer known = scores.get(key);
+        if (known != null) return known;
+
+        int best = 0; // A full board is a draw
+        if (!board.isFull()) {
+            best = Integer.MIN_VALUE;
+            for (int col = 0; col < board.getCols(); col++) {
+                if (board.canPlay(col)) best = Math.max(best, scoreAfter(board, logic, col, symbol, scores));
+            }
+        }
+        scores.put(key, best);
+        return best;
+    }
+
+    // Score for symbol of playing col, from the same side's view
+    private static int scoreAfter(Board board, GameLogic logic, int col, char symbol, Map<Long, Integer> scores) {
+        int cells = board.getRows() * board.getCols();
+        int moves = board.getMoveCount();
+        board.dropPiece(col, symbol);
+        int score = logic.checkLastMoveWin() ? (cells + 1 - moves) / 2
+                  : -bruteForce(board, logic, symbol == 'X' ? 'O' : 'X', scores);
+        board.undo();
+        return score;
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--verify")) {
+            System.exit(verify() ? 0 : 1);
+        }
+
+        Board board = new Board(6, 7);
+        char symbol = EngineBenchmark.play(board, args.length > 0 ? args[0] : "");
+
+        Solver solver = new Solver();
+        Result result = solver.solve(board, symbol);
+        System.out.println(symbol + " to move: " + result);
+        System.out.println(solver.getNodes() + " nodes in " + solver.getElapsedMillis() + " ms ("
+            + solver.getNodesPerSecond() + " nodes/s)");
+    }
+}
@@ -0,0 +1,172 @@
+package connectfour;
+
+/**
+ * Threat-based evaluation that is updated move by move instead of being
+ * recomputed at every leaf. The board is split into every four-cell window
+ * (line) that could still become a win. A window holding discs of only one
+ * player is live: it scores a little for one or two discs, and with three it
+ * makes its empty cell a threat. Threats count extra when the opponent could
+ * fill that cell right now, and extra again on the row parity that favours
+ * their owner in the endgame: odd rows (counting from 1 at the bottom) for
+ * the first player, even rows for the second.
+ *
+ * drop() and undo() touch only the windows through one cell, so keeping the
+ * score current costs a few table lookups per move, and evaluate() reduces
+ * to a handful of bit counts.
+ *
+ * Cells use the Board bit layout. Player 0 is the first player, i.e. the one
+ * who moves when the number of discs on the board is even.
+ */
+class ThreatEvaluator {
+    // A window's state packs both players' disc counts: first + 8 * second
+    private static final int SECOND = 8;
+    private static final int STATES = 5 * SECOND;
+
+    // Score for a live window with 0..4 discs of one player; threes are scored as threats
+    private static final int[] WINDOW_VALUES = { 0, 1, 4, 0, 0 };
+    private static final int THREAT = 10;
+    private static final int PLAYABLE_THREAT = 20;
+    private static final int PARITY_THREAT = 15;
+
+    // Per state: score from player 0's view, and the player (0/1) it gives a threat to, or -1
+    private static final int[] STATE_VALUES = new int[STATES];
+    private static final int[] THREAT_OWNER = new int[STATES];
+    static {
+        for (int first = 0; first <= 4; first++) {
+            for (int second = 0; second <= 4; second++) {
+                int state = first + SECOND * second;
+                boolean live = first == 0 || second == 0; // A window with both colours scores nothing
+                STATE_VALUES[state] = live ? WINDOW_VALUES[first] - WINDOW_VALUES[second] : 0;
+                THREAT_OWNER[state] = !live ? -1 : first == 3 ? 0 : second == 3 ? 1 : -1;
+            }
+        }
+    }
+
+    private final long bottomMask;
+    private final long boardMask;
+    private final long[] parityRows = new long[2]; // Rows that favour each player's threats
+
+    // --- Windows ---
+    private final long[] windowMasks;
+    private final int[] cellStart;     // Windows through bit b are cellWindows[cellStart[b]..cellStart[b + 1])
+    private final int[] cellWindows;
+
+    // --- Incremental state ---
+    private final int[] states;
+    private final int[][] threatRefs;  // Live three-disc windows per player and empty cell
+    private final long[] threats = new long[2];
+    private long mask;
+    private int windowScore;           // From player 0's point of view
+
+    ThreatEvaluator(int rows, int cols) {
+        int height = rows + 1;
+        long bottom = 0L;
+        for (int col = 0; col < cols; col++) {
+            bottom |= 1L << (col * height);
+        }
+        this.bottomMask = bottom;
+        this.boardMask = bottom * ((1L << rows) - 1);
+        for (int row = 0; row < rows; row++) {
+            parityRows[row & 1] |= bottom << row; // Row 0 here is row 1 counting from 1
+        }
+
+        // Every line of four cells: vertical, horizontal and both diagonals
+        long[] windows = new long[4 * rows * cols];
+        int count = 0;
+        int[][] steps = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } }; // (column, row) steps
+        for (int col = 0; col < cols; col++) {
+            for (int row = 0; row < rows; row++) {
+                for (int[] step : steps) {
+                    int endCol = col + 3 * step[0];
+                    int endRow = row + 3 * step[1];
+                    if (endCol >= cols || endRow < 0 || endRow >= rows) continue;
+                    long window = 0L;
+                    for (int i = 0; i < 4; i++) {
+                        window |= 1L << ((col + i * step[0]) * height + row + i * step[1]);
+                    }
+                    windows[count++] = window;
+                }
+            }
+        }
+        this.windowMasks = java.util.Arrays.copyOf(windows, count);
+
+        this.cellStart = new int[Long.SIZE + 1];
+        this.cellWindows = new int[4 * count];
+        int n = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            cellStart[bit] = n;
+            for (int w = 0; w < count; w++) {
+                if ((windowMasks[w] & (1L << bit)) != 0) cellWindows[n++] = w;
+            }
+        }
+        cellStart[Long.SIZE] = n;
+
+        this.states = new int[count];
+        this.threatRefs = new int[2][Long.SIZE];
+    }
+
+    /** Starts from a position given as each player's discs. */
+    void reset(long first, long second) {
+        mask = 0L;
+        windowScore = 0;
+        threats[0] = 0L;
+        threats[1] = 0L;
+        java.util.Arrays.fill(states, 0);
+        java.util.Arrays.fill(threatRefs[0], 0);
+        java.util.Arrays.fill(threatRefs[1], 0);
+        for (long bits = first; bits != 0; bits &= bits - 1) {
+            drop(Long.numberOfTrailingZeros(bits), 0);
+        }
+        for (long bits = second; bits != 0; bits &= bits - 1) {
+            drop(Long.numberOfTrailingZeros(bits), 1);
+        }
+    }
+
+    void drop(int bit, int player) {
+        update(bit, player == 0 ? 1 : SECOND, mask | (1L << bit));
+    }
+
+    // Must undo the most recent drop() still in effect
+    void undo(int bit, int player) {
+        update(bit, player == 0 ? -1 : -SECOND, mask & ~(1L << bit));
+    }
+
+    private void update(int bit, int delta, long newMask) {
+        for (int i = cellStart[bit], end = cellStart[bit + 1]; i < end; i++) {
+            int w = cellWindows[i];
+            int before = states[w];
+            int after = before + delta;
+            states[w] = after;
+            windowScore += STATE_VALUES[after] - STATE_VALUES[before];
+
+            // Rare: a window gains or loses three discs of one player with the fourth cell open
+            int lost = THREAT_OWNER[before];
+            int gained = THREAT_OWNER[after];
+            if (lost >= 0) unrefThreat(lost, windowMasks[w] & ~mask);
+            if (gained >= 0) refThreat(gained, windowMasks[w] & ~newMask);
+        }
+        mask = newMask;
+    }
+
+    /** Scores the current position for the side to move. */
+    int evaluate(int moves) {
+        long playable = (mask + bottomMask) & boardMask;
+        long first = threats[0];
+        long second = threats[1];
+
+        int score = windowScore;
+        score += THREAT * (Long.bitCount(first) - Long.bitCount(second));
+        score += PLAYABLE_THREAT * (Long.bitCount(first & playable) - Long.bitCount(second & playable));
+        score += PARITY_THREAT * (Long.bitCount(first & parityRows[0]) - Long.bitCount(second & parityRows[1]));
+        return (moves & 1) == 0 ? score : -score;
+    }
+
+    // --- Threat cells (several windows can share one) ---
+    private void refThreat(int player, long cell) {
+        if (threatRefs[player][Long.numberOfTrailingZeros(cell)]++ == 0) threats[player] |= cell;
+    }
+
+    private void unrefThreat(int player, long cell) {
+        if (--threatRefs[player][Long.numberOfTrailingZeros(cell)] == 0) threats[player] &= ~cell;
+    }
+}
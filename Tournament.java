@@ -0,0 +1,199 @@
+package connectfour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless engine-vs-engine match runner. Games are played straight on a
+ * Board with no Game, FileManager or console I/O, spread over a thread pool,
+ * and only a summary is printed (plus a progress line every 10% of games).
+ *
+ * Engines are described as comma-separated settings, e.g.
+ *   "depth:12"   "time:10"   "nodes:50000,depth:20"   "time:50,book:off,table:32"
+ * The two engines alternate colours, and each game starts with a few random
+ * plies (the same for both colourings of a pair) so games are not replays.
+ *
+ * Usage: Tournament [games] [engine A] [engine B] [threads] [random plies]
+ */
+public class Tournament {
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_RANDOM_PLIES = 4;
+
+    private final EngineSpec engineA;
+    private final EngineSpec engineB;
+    private final int randomPlies;
+
+    // --- Results, updated as games finish ---
+    private final AtomicLong winsA = new AtomicLong();
+    private final AtomicLong winsB = new AtomicLong();
+    private final AtomicLong draws = new AtomicLong();
+    private final AtomicLong movesA = new AtomicLong();
+    private final AtomicLong movesB = new AtomicLong();
+    private final AtomicLong nanosA = new AtomicLong();
+    private final AtomicLong nanosB = new AtomicLong();
+
+    public Tournament(EngineSpec engineA, EngineSpec engineB, int randomPlies) {
+        this.engineA = engineA;
+        this.engineB = engineB;
+        this.randomPlies = randomPlies;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        EngineSpec a = EngineSpec.parse(args.length > 1 ? args[1] : "depth:8");
+        EngineSpec b = EngineSpec.parse(args.length > 2 ? args[2] : "depth:6");
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int randomPlies = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_RANDOM_PLIES;
+
+        System.out.println("Tournament: " + games + " games, A = [" + a + "] vs B = [" + b + "], "
+            + threads + " threads");
+        new Tournament(a, b, randomPlies).run(games, threads);
+    }
+
+    public void run(int games, int threads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ThreadLocal<SearchEngine[]> engines = ThreadLocal.withInitial(() ->
+            new SearchEngine[] { engineA.createEngine(), engineB.createEngine() });
+
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            int gameIndex = i;
+            results.add(pool.submit(() -> playGame(gameIndex, engines.get())));
+        }
+
+        try {
+            int step = Math.max(1, games / 10);
+            for (int i = 0; i < results.size(); i++) {
+                results.get(i).get();
+                if ((i + 1) % step == 0 && i + 1 < games) {
+                    System.out.println("  " + (i + 1) + "/" + games + " games...");
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament game failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        printSummary(games, System.nanoTime() - start);
+    }
+
+    // Engine A plays X in even games; game pairs share the same random opening
+    private void playGame(int gameIndex, SearchEngine[] engines) {
+        boolean aIsX = gameIndex % 2 == 0;
+        Random random = new Random(gameIndex / 2);
+
+        Board board = new Board(6, 7);
+        GameLogic logic = new GameLogic(board);
+        char symbol = 'X';
+        while (!board.isFull()) {
+            boolean aToMove = (symbol == 'X') == aIsX;
+            int col;
+            if (board.getMoveCount() < randomPlies) {
+                do {
+                    col = random.nextInt(board.getCols());
+                } while (!board.canPlay(col));
+            } else {
+                EngineSpec spec = aToMove ? engineA : engineB;
+                long moveStart = System.nanoTime();
+                col = spec.chooseMove(engines[aToMove ? 0 : 1], board, symbol);
+                long elapsed = System.nanoTime() - moveStart;
+                (aToMove ? nanosA : nanosB).addAndGet(elapsed);
+                (aToMove ? movesA : movesB).incrementAndGet();
+            }
+
+            board.dropPiece(col, symbol);
+            if (logic.checkLastMoveWin()) {
+                (aToMove ? winsA : winsB).incrementAndGet();
+                return;
+            }
+            symbol = symbol == 'X' ? 'O' : 'X';
+        }
+        draws.incrementAndGet();
+    }
+
+    private void printSummary(int games, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println("-------------------------------------------");
+        System.out.printf("A [%s]: %d wins (%.1f%%)%n", engineA, winsA.get(), 100.0 * winsA.get() / games);
+        System.out.printf("B [%s]: %d wins (%.1f%%)%n", engineB, winsB.get(), 100.0 * winsB.get() / games);
+        System.out.printf("Draws: %d (%.1f%%)%n", draws.get(), 100.0 * draws.get() / games);
+        System.out.printf("%.1f games/s over %.1f s%n", games / seconds, seconds);
+        System.out.printf("Average move latency: A %.2f ms, B %.2f ms%n",
+            averageMillis(nanosA, movesA), averageMillis(nanosB, movesB));
+        System.out.println("-------------------------------------------");
+    }
+
+    private static double averageMillis(AtomicLong nanos, AtomicLong moves) {
+        return moves.get() == 0 ? 0 : nanos.get() / 1e6 / moves.get();
+    }
+
+    public long getWinsA() { return winsA.get(); }
+    public long getWinsB() { return winsB.get(); }
+    public long getDraws() { return draws.get(); }
+
+    /**
+     * Search settings for one side of a match. Each tournament thread creates
+     * its own SearchEngine from the spec, so engines are never shared.
+     */
+    public static class EngineSpec {
+        public int depth = AIPlayer.UNLIMITED_DEPTH;
+        public long timeMillis;
+        public long nodes;
+        public int tableMegabytes = 8;
+        public int threads = SearchEngine.DEFAULT_THREADS;
+        public boolean useBook = true;
+
+        public static EngineSpec parse(String text) {
+            EngineSpec spec = new EngineSpec();
+            for (String setting : text.split(",")) {
+                String[] parts = setting.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Bad engine setting: " + setting);
+                }
+                String value = parts[1].trim();
+                switch (parts[0].trim().toLowerCase()) {
+                    case "depth": spec.depth = Integer.parseInt(value); break;
+                    case "time": spec.timeMillis = Long.parseLong(value); break;
+                    case "nodes": spec.nodes = Long.parseLong(value); break;
+                    case "table": spec.tableMegabytes = Integer.parseInt(value); break;
+                    case "threads": spec.threads = Integer.parseInt(value); break;
+                    case "book": spec.useBook = !value.equalsIgnoreCase("off"); break;
+                    default: throw new IllegalArgumentException("Unknown engine setting: " + setting);
+                }
+            }
+            if (spec.depth == AIPlayer.UNLIMITED_DEPTH && spec.timeMillis == 0 && spec.nodes == 0) {
+                throw new IllegalArgumentException("Engine needs a depth, time or node limit: " + text);
+            }
+            return spec;
+        }
+
+        SearchEngine createEngine() {
+            return new SearchEngine(tableMegabytes, threads);
+        }
+
+        int chooseMove(SearchEngine engine, Board board, char symbol) {
+            OpeningBook book = useBook ? OpeningBook.getDefault() : null;
+            int bookMove = book != null ? book.lookup(board, symbol) : -1;
+            if (bookMove != -1 && board.canPlay(bookMove)) return bookMove;
+            return engine.findBestMove(board, symbol, depth, timeMillis, nodes);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            if (depth != AIPlayer.UNLIMITED_DEPTH) sb.append("depth ").append(depth).append(' ');
+            if (timeMillis > 0) sb.append(timeMillis).append("ms ");
+            if (nodes > 0) sb.append(nodes).append(" nodes ");
+            if (threads > 1) sb.append(threads).append(" threads ");
+            if (!useBook) sb.append("no book ");
+            return sb.toString().trim();
+        }
+    }
+}
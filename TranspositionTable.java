@@ -0,0 +1,97 @@
+package connectfour;
+
+/**
+ * Fixed-size hash table of search results, stored in two parallel long[]
+ * arrays so it never allocates after construction.
+ *
+ * Keys are the bitboard key current + mask, which is unique for every
+ * position that fits in a long; it is scrambled by a multiplicative hash to
+ * pick the slot and stored in full so a probe never returns another
+ * position's entry. Search threads share one table without locking: the key
+ * slot holds key ^ data, so a slot torn by two racing writers fails the key
+ * check instead of returning a mismatched entry. Each data word packs:
+ *   bits  0-31  score
+ *   bits 32-39  depth
+ *   bits 40-41  bound type
+ *   bits 42-49  best move + 1 (0 = none)
+ *   bits 50-57  search generation
+ *   bit  63     valid flag
+ */
+public class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final long VALID = 1L << 63;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int shift;
+    private int generation;
+
+    /**
+     * Creates a table using at most the given number of megabytes. The entry
+     * count is rounded down to a power of two.
+     */
+    public TranspositionTable(int megabytes) {
+        long budget = Math.max(1, megabytes) * 1024L * 1024L / ENTRY_BYTES;
+        int bits = 63 - Long.numberOfLeadingZeros(Math.min(budget, 1L << 30));
+        this.keys = new long[1 << bits];
+        this.data = new long[1 << bits];
+        this.shift = 64 - bits;
+    }
+
+    /**
+     * Returns the packed entry for the key, or 0 if the table has none.
+     */
+    public long probe(long key) {
+        int index = index(key);
+        long entry = data[index];
+        return (entry & VALID) != 0 && (keys[index] ^ entry) == key ? entry : 0L;
+    }
+
+    /**
+     * Stores a result. A slot is overwritten when it is empty, holds the same
+     * position, was written by an older search, or was searched less deeply.
+     */
+    public void store(long key, int score, int depth, int bound, int move) {
+        int index = index(key);
+        long old = data[index];
+        if ((old & VALID) != 0 && (keys[index] ^ old) != key
+                && generation(old) == (generation & 0xFF) && depth(old) > depth) {
+            return;
+        }
+        long entry = VALID
+            | (score & 0xFFFFFFFFL)
+            | ((long) (depth & 0xFF) << 32)
+            | ((long) bound << 40)
+            | ((long) ((move + 1) & 0xFF) << 42)
+            | ((long) (generation & 0xFF) << 50);
+        keys[index] = key ^ entry;
+        data[index] = entry;
+    }
+
+    /** Marks the start of a new search so entries from older searches age out. */
+    public void newSearch() {
+        generation++;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(keys, 0L);
+        java.util.Arrays.fill(data, 0L);
+    }
+
+    public int getCapacity() { return keys.length; }
+
+    // --- Entry decoding ---
+    public static int score(long entry) { return (int) entry; }
+    public static int depth(long entry) { return (int) (entry >>> 32) & 0xFF; }
+    public static int bound(long entry) { return (int) (entry >>> 40) & 0x3; }
+    public static int move(long entry) { return ((int) (entry >>> 42) & 0xFF) - 1; }
+    private static int generation(long entry) { return (int) (entry >>> 50) & 0xFF; }
+
+    private int index(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
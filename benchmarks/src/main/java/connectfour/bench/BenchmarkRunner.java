@@ -0,0 +1,27 @@
+package connectfour.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark in this package and writes the results as JSON, so
+ * successive builds can be compared by a script.
+ *
+ * Usage: BenchmarkRunner [results file] [benchmark regex]
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : "jmh-result.json";
+        String include = args.length > 1 ? args[1] : BenchmarkRunner.class.getPackage().getName() + ".*";
+
+        Options options = new OptionsBuilder()
+            .include(include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,61 @@
+package connectfour.bench;
+
+import connectfour.Board;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board primitives: dropping a disc, the full-board test and copying.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({ "4x5", "6x7", "7x8" })
+    public String size;
+
+    private Board board;
+    private Board midGame;
+    private int col;
+    private char symbol = 'X';
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        board = newBoard(size);
+        midGame = Playouts.randomPosition(newBoard(size), board.getRows() * board.getCols() / 2, 42);
+    }
+
+    // Cycles through the columns so every column fills evenly, clearing when full
+    @Benchmark
+    public boolean dropPiece() {
+        if (board.isFull()) board.clear();
+        col = col + 1 == board.getCols() ? 0 : col + 1;
+        symbol = symbol == 'X' ? 'O' : 'X';
+        return board.dropPiece(col, symbol);
+    }
+
+    @Benchmark
+    public boolean isFull() {
+        return midGame.isFull();
+    }
+
+    @Benchmark
+    public char getCell() {
+        return midGame.getCell(midGame.getLastRow(), midGame.getLastCol());
+    }
+
+    @Benchmark
+    public Board copy() {
+        return midGame.copy();
+    }
+
+    // "6x7" -> new Board(6, 7)
+    static Board newBoard(String size) {
+        String[] parts = size.split("x");
+        return new Board(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+}
@@ -0,0 +1,41 @@
+package connectfour.bench;
+
+import connectfour.Board;
+import connectfour.GameLogic;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Win detection: the whole-board bitboard check and the last-move check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBenchmark {
+    @Param({ "4x5", "6x7", "7x8" })
+    public String size;
+
+    private Board board;
+    private GameLogic logic;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        board = BoardBenchmark.newBoard(size);
+        Playouts.randomPosition(board, board.getRows() * board.getCols() / 2, 7);
+        logic = new GameLogic(board);
+    }
+
+    @Benchmark
+    public boolean checkWin() {
+        return logic.checkWin('X');
+    }
+
+    @Benchmark
+    public boolean checkWinAt() {
+        return logic.checkWinAt(board.getLastRow(), board.getLastCol());
+    }
+}
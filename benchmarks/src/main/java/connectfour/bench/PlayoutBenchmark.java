@@ -0,0 +1,36 @@
+package connectfour.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complete random games: Board drops plus a win check after every move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayoutBenchmark {
+    @Param({ "4x5", "6x7", "7x8" })
+    public String size;
+
+    private int rows;
+    private int cols;
+    private long seed = 1;
+
+    @Setup
+    public void setUp() {
+        String[] parts = size.split("x");
+        rows = Integer.parseInt(parts[0]);
+        cols = Integer.parseInt(parts[1]);
+    }
+
+    @Benchmark
+    public char randomGame() {
+        seed++;
+        return Playouts.playRandomGame(rows, cols, seed);
+    }
+}
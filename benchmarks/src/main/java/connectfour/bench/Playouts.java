@@ -0,0 +1,45 @@
+package connectfour.bench;
+
+import connectfour.Board;
+import connectfour.GameLogic;
+
+/**
+ * Random-game helpers shared by the benchmarks. Uses an inline xorshift
+ * generator so the benchmarks measure the board, not java.util.Random.
+ */
+final class Playouts {
+    private Playouts() { }
+
+    /** Plays a random game to the end and returns the winner's symbol, or ' ' for a draw. */
+    static char playRandomGame(int rows, int cols, long seed) {
+        Board board = new Board(rows, cols);
+        GameLogic logic = new GameLogic(board);
+        long state = seed * 0x9E3779B97F4A7C15L + 1;
+        char symbol = 'X';
+        while (!board.isFull()) {
+            state ^= state << 13;
+            state ^= state >>> 7;
+            state ^= state << 17;
+            int col = (int) Math.floorMod(state, (long) cols);
+            if (!board.dropPiece(col, symbol)) continue;
+            if (logic.checkLastMoveWin()) return symbol;
+            symbol = symbol == 'X' ? 'O' : 'X';
+        }
+        return ' ';
+    }
+
+    /** Drops up to `moves` random discs without letting either side win. */
+    static Board randomPosition(Board board, int moves, long seed) {
+        java.util.Random random = new java.util.Random(seed);
+        char symbol = 'X';
+        int attempts = 0;
+        while (board.getMoveCount() < moves && attempts++ < 10_000) {
+            int col = random.nextInt(board.getCols());
+            Board next = board.copy();
+            if (!next.dropPiece(col, symbol) || new GameLogic(next).checkLastMoveWin()) continue;
+            board.dropPiece(col, symbol);
+            symbol = symbol == 'X' ? 'O' : 'X';
+        }
+        return board;
+    }
+}
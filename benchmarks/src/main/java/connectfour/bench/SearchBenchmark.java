@@ -0,0 +1,50 @@
+package connectfour.bench;
+
+import connectfour.Board;
+import connectfour.SearchEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI search to a fixed depth from a cold transposition table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({ "4", "8", "12" })
+    public int depth;
+
+    // Column digits played alternately from an empty 6x7 board
+    @Param({ "", "3242" })
+    public String opening;
+
+    private SearchEngine engine;
+    private Board board;
+    private char symbol;
+
+    @Setup
+    public void setUp() {
+        engine = new SearchEngine();
+        board = new Board(6, 7);
+        symbol = 'X';
+        for (int i = 0; i < opening.length(); i++) {
+            board.dropPiece(opening.charAt(i) - '0', symbol);
+            symbol = symbol == 'X' ? 'O' : 'X';
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        engine.getTable().clear();
+    }
+
+    @Benchmark
+    public int search() {
+        return engine.findBestMove(board, symbol, depth);
+    }
+}